@@ -0,0 +1,52 @@
+package caixaverso.financeiro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalculadoraEmprestimoPriceBenchmark {
+
+    @Param({"1", "12", "60", "120", "240", "360"})
+    int prazoMeses;
+
+    // Taxa zero e a taxa mensal equivalente a 12,68% ao ano, na escala usada pelo SimulacaoService
+    @Param({"0", "0.0099588018"})
+    String taxaMensal;
+
+    // Zero reproduz a aritmética exata anterior; 34 é a precisão limitada padrão
+    @Param({"0", "34"})
+    int precisao;
+
+    private CalculadoraEmprestimoPrice calculadora;
+    private BigDecimal valorEmprestimo;
+    private BigDecimal taxa;
+
+    @Setup
+    public void setUp() {
+        calculadora = new CalculadoraEmprestimoPrice(precisao, 0);
+        valorEmprestimo = new BigDecimal("10000.00");
+        taxa = new BigDecimal(taxaMensal);
+    }
+
+    @Benchmark
+    public ResultadoCalculoEmprestimo calcular() {
+        return calculadora.calcular(valorEmprestimo, taxa, prazoMeses);
+    }
+}
@@ -0,0 +1,52 @@
+package caixaverso.financeiro;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Consulta da última parcela; com saldosMaximo=0 o prazo é percorrido a cada chamada, como sem o cache de saldos
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalculadoraParcelaBenchmark {
+
+    @Param({"12", "120", "360"})
+    int prazoMeses;
+
+    @Param({"0", "1000"})
+    int saldosMaximo;
+
+    @Param({"centavos", "bigdecimal"})
+    String motor;
+
+    private CalculadoraEmprestimo calculadora;
+    private BigDecimal valorEmprestimo;
+    private BigDecimal taxa;
+
+    @Setup
+    public void setUp() {
+        CalculadoraEmprestimoPrice calculadoraPrice = new CalculadoraEmprestimoPrice(34, saldosMaximo);
+        calculadora = "centavos".equals(motor) ? new CalculadoraEmprestimoCentavos(calculadoraPrice, saldosMaximo) : calculadoraPrice;
+        valorEmprestimo = new BigDecimal("10000.00");
+        taxa = new BigDecimal("0.0099588018");
+    }
+
+    @Benchmark
+    public ParcelaAmortizacao calcularUltimaParcela() {
+        return calculadora.calcularParcela(valorEmprestimo, taxa, prazoMeses, prazoMeses);
+    }
+}
@@ -0,0 +1,109 @@
+package caixaverso.service;
+
+import caixaverso.dto.SimulacaoRequest;
+import caixaverso.dto.SimulacaoResponse;
+import caixaverso.dto.SimulacaoResponse.ParcelaDetalhe;
+import caixaverso.financeiro.CalculadoraEmprestimo;
+import caixaverso.financeiro.CalculadoraEmprestimoCentavos;
+import caixaverso.financeiro.CalculadoraEmprestimoPrice;
+import caixaverso.financeiro.ResultadoCalculoEmprestimo;
+import caixaverso.financeiro.TaxaJuros;
+import caixaverso.model.ProdutoEmprestimo;
+import caixaverso.observabilidade.Metricas;
+import caixaverso.validator.SimulacaoValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulacaoServiceBenchmark {
+
+    @Param({"1", "12", "60", "120", "240", "360"})
+    int prazoMeses;
+
+    @Param({"0", "12.68"})
+    String taxaJurosAnual;
+
+    @Param({"bigdecimal", "centavos"})
+    String motor;
+
+    private SimulacaoService simulacaoService;
+    private ProdutoEmprestimo produto;
+    private ProdutoEmprestimo produtoComTaxaMensal;
+    private SimulacaoRequest request;
+    private BigDecimal taxaMensal;
+    private ResultadoCalculoEmprestimo resultadoCalculo;
+    private List<ParcelaDetalhe> memoria;
+
+    @Setup
+    public void setUp() {
+        produto = new ProdutoEmprestimo("Crédito Pessoal", new BigDecimal(taxaJurosAnual), 360);
+        produto.setId(1L);
+        produtoComTaxaMensal = new ProdutoEmprestimo("Crédito Pessoal", new BigDecimal(taxaJurosAnual), 360);
+        produtoComTaxaMensal.setTaxaJurosMensal(TaxaJuros.calcularTaxaMensalEquivalente(produto.getTaxaJurosAnual()));
+        request = new SimulacaoRequest(1L, 1000000L, prazoMeses);
+
+        // Isola o serviço do banco: o validador devolve sempre o mesmo produto
+        SimulacaoValidator validator = new SimulacaoValidator(null) {
+            @Override
+            public ProdutoEmprestimo validateAndGetProduto(SimulacaoRequest simulacaoRequest) {
+                return produto;
+            }
+        };
+        CalculadoraEmprestimoPrice calculadoraPrice = new CalculadoraEmprestimoPrice(34, 0);
+        CalculadoraEmprestimo calculadora = "centavos".equals(motor)
+                ? new CalculadoraEmprestimoCentavos(calculadoraPrice, 0)
+                : calculadoraPrice;
+        simulacaoService = new SimulacaoService(validator, calculadora, null, new SimulacaoCache(false, 0), null,
+                new Metricas(new SimpleMeterRegistry(), 100), 1, 1, 1, 1);
+
+        taxaMensal = TaxaJuros.calcularTaxaMensalEquivalente(produto.getTaxaJurosAnual());
+        memoria = new ArrayList<>(prazoMeses);
+        resultadoCalculo = calculadora.percorrerParcelasCentavos(request.valorSolicitadoCentavos(), taxaMensal, prazoMeses,
+                (numero, amortizacao, juros, saldoDevedor) -> memoria.add(new ParcelaDetalhe(numero, amortizacao, juros, saldoDevedor)));
+    }
+
+    @Benchmark
+    public BigDecimal calcularTaxaMensalEquivalente() {
+        return TaxaJuros.calcularTaxaMensalEquivalente(produto.getTaxaJurosAnual());
+    }
+
+    @Benchmark
+    public BigDecimal taxaMensalGravada() {
+        return simulacaoService.taxaMensal(produtoComTaxaMensal);
+    }
+
+    @Benchmark
+    public SimulacaoResponse construirResponse() {
+        return simulacaoService.construirResponse(produto, request, taxaMensal, resultadoCalculo, memoria);
+    }
+
+    @Benchmark
+    public SimulacaoResponse simular() {
+        return simulacaoService.simular(request);
+    }
+
+    @Benchmark
+    public SimulacaoResponse simularResumo() {
+        return simulacaoService.simularResumo(request);
+    }
+}
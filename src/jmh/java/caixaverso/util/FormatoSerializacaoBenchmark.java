@@ -0,0 +1,203 @@
+package caixaverso.util;
+
+import caixaverso.dto.SimulacaoRequest;
+import caixaverso.dto.SimulacaoResponse;
+import caixaverso.financeiro.CalculadoraEmprestimoCentavos;
+import caixaverso.financeiro.CalculadoraEmprestimoPrice;
+import caixaverso.financeiro.TaxaJuros;
+import caixaverso.model.ProdutoEmprestimo;
+import caixaverso.observabilidade.Metricas;
+import caixaverso.service.SimulacaoCache;
+import caixaverso.service.SimulacaoService;
+import caixaverso.validator.SimulacaoValidator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.core.MediaType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+// Compara o Jackson em JSON (por reflexão e com os serializadores gerados no build do Quarkus) com o CborProvider para
+// os dois corpos mais trafegados: a simulação e a página de produtos. O tamanho dos corpos é conferido no
+// CborProviderTest, não aqui
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatoSerializacaoBenchmark {
+
+    private static final MediaType APPLICATION_CBOR = MediaType.valueOf(CborProvider.APPLICATION_CBOR);
+
+    // Gerado pelo build do Quarkus só com -Dquarkus.rest.jackson.optimization.enable-reflection-free-serializers=true
+    private static final Path BYTECODE_GERADO = Path.of("target", "quarkus-app", "quarkus", "generated-bytecode.jar");
+    private static final String SUFIXO_SERIALIZADOR = "$quarkusjacksonserializer";
+    private static final String SUFIXO_DESSERIALIZADOR = "$quarkusjacksondeserializer";
+
+    @Param({"json", "json-gerado", "cbor"})
+    String formato;
+
+    @Param({"simulacao", "produtos"})
+    String corpo;
+
+    private ObjectMapper objectMapper;
+    private CborProvider cborProvider;
+    private Object entidade;
+    private Class<Object> classe;
+    private Type tipo;
+    private JavaType tipoJackson;
+    private byte[] serializado;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        // Mesma configuração padrão do ObjectMapper do Quarkus
+        objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        new JacksonConfig().customize(objectMapper);
+        cborProvider = new CborProvider(objectMapper);
+        if ("json-gerado".equals(formato)) {
+            objectMapper.registerModule(serializadoresGerados());
+        }
+
+        if ("simulacao".equals(corpo)) {
+            entidade = simulacao();
+            tipo = SimulacaoResponse.class;
+        } else {
+            entidade = produtos();
+            tipo = objectMapper.getTypeFactory().constructCollectionType(List.class, ProdutoEmprestimo.class);
+        }
+        tipoJackson = objectMapper.getTypeFactory().constructType(tipo);
+        classe = (Class<Object>) tipoJackson.getRawClass();
+
+        serializado = serializar();
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(8192);
+        if ("cbor".equals(formato)) {
+            cborProvider.writeTo(entidade, classe, tipo, null, APPLICATION_CBOR, null, saida);
+        } else {
+            objectMapper.writeValue(saida, entidade);
+        }
+        return saida.toByteArray();
+    }
+
+    @Benchmark
+    public Object desserializar() throws IOException {
+        ByteArrayInputStream entrada = new ByteArrayInputStream(serializado);
+        if ("cbor".equals(formato)) {
+            return cborProvider.readFrom(classe, tipo, null, APPLICATION_CBOR, null, entrada);
+        }
+        return objectMapper.readValue(entrada, tipoJackson);
+    }
+
+    // Registra os serializadores gerados para os tipos exatos, como o GeneratedSerializersRegister faz na aplicação
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static SimpleModule serializadoresGerados() throws IOException {
+        if (!Files.exists(BYTECODE_GERADO)) {
+            throw new IllegalStateException("Execute o build do Quarkus com os serializadores gerados antes do benchmark: "
+                    + BYTECODE_GERADO + " não existe.");
+        }
+        SimpleModule modulo = new SimpleModule("serializadores-gerados");
+        int registrados = 0;
+        ClassLoader carregador = new URLClassLoader(new URL[]{BYTECODE_GERADO.toUri().toURL()},
+                FormatoSerializacaoBenchmark.class.getClassLoader());
+        try (JarFile jar = new JarFile(BYTECODE_GERADO.toFile())) {
+            for (JarEntry entrada : Collections.list(jar.entries())) {
+                String nome = entrada.getName();
+                if (!nome.startsWith("caixaverso/") || !nome.endsWith(".class")) {
+                    continue;
+                }
+                String classe = nome.substring(0, nome.length() - ".class".length()).replace('/', '.');
+                if (classe.endsWith(SUFIXO_SERIALIZADOR) || classe.endsWith(SUFIXO_DESSERIALIZADOR)) {
+                    Object instancia = instanciar(carregador, classe);
+                    if (instancia instanceof StdSerializer<?> serializador) {
+                        modulo.addSerializer(serializador);
+                        registrados++;
+                    } else if (instancia instanceof StdDeserializer<?> desserializador) {
+                        modulo.addDeserializer((Class) desserializador.handledType(), (JsonDeserializer) desserializador);
+                        registrados++;
+                    }
+                }
+            }
+        }
+        // Sem a opção ligada no build o jar existe, mas sem os serializadores, e o benchmark mediria a reflexão
+        if (registrados == 0) {
+            throw new IllegalStateException("Nenhum serializador gerado em " + BYTECODE_GERADO
+                    + "; execute o build com -Dquarkus.rest.jackson.optimization.enable-reflection-free-serializers=true.");
+        }
+        return modulo;
+    }
+
+    // As classes que só guardam os nomes dos campos (SerializedStrings) não têm construtor público
+    private static Object instanciar(ClassLoader carregador, String classe) {
+        try {
+            return Class.forName(classe, true, carregador).getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    // Simulação de 360 meses, o maior corpo devolvido por POST /simulacoes
+    private static SimulacaoResponse simulacao() {
+        ProdutoEmprestimo produto = produto(1L);
+        SimulacaoValidator validator = new SimulacaoValidator(null) {
+            @Override
+            public ProdutoEmprestimo validateAndGetProduto(SimulacaoRequest simulacaoRequest) {
+                return produto;
+            }
+        };
+        SimulacaoService simulacaoService = new SimulacaoService(validator,
+                new CalculadoraEmprestimoCentavos(new CalculadoraEmprestimoPrice(34, 0), 0), null, new SimulacaoCache(false, 0),
+                null, new Metricas(new SimpleMeterRegistry(), 100), 1, 1, 1, 1);
+        return simulacaoService.simular(new SimulacaoRequest(1L, 1000000L, 360));
+    }
+
+    // Página com o limite máximo de GET /produtos
+    private static List<ProdutoEmprestimo> produtos() {
+        List<ProdutoEmprestimo> produtos = new ArrayList<>(500);
+        for (long id = 1; id <= 500; id++) {
+            produtos.add(produto(id));
+        }
+        return produtos;
+    }
+
+    private static ProdutoEmprestimo produto(Long id) {
+        ProdutoEmprestimo produto = new ProdutoEmprestimo("Crédito Pessoal " + id, new BigDecimal("12.68"), 360);
+        produto.setId(id);
+        produto.setTaxaJurosMensal(TaxaJuros.calcularTaxaMensalEquivalente(produto.getTaxaJurosAnual()));
+        return produto;
+    }
+}
@@ -0,0 +1,54 @@
+package caixaverso.controller;
+
+import caixaverso.dto.GravacaoJfrResponse;
+import caixaverso.observabilidade.GravacaoJfr;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+
+@Path("/diagnostico/jfr")
+@Produces(MediaType.APPLICATION_JSON)
+public class DiagnosticoController {
+
+    private final GravacaoJfr gravacaoJfr;
+
+    public DiagnosticoController(GravacaoJfr gravacaoJfr) {
+        this.gravacaoJfr = gravacaoJfr;
+    }
+
+    @GET
+    @Operation(summary = "Consulta o estado da gravação JFR.",
+            description = "Retorna o estado da gravação de diagnóstico da JVM.")
+    public GravacaoJfrResponse estado() {
+        return new GravacaoJfrResponse(gravacaoJfr.estado(), null);
+    }
+
+    @POST
+    @Path("/iniciar")
+    @Operation(summary = "Inicia uma gravação JFR.",
+            description = "Inicia uma gravação com as configurações padrão da JVM e os eventos de simulação e de consulta de produtos.")
+    public GravacaoJfrResponse iniciar() {
+        return new GravacaoJfrResponse(gravacaoJfr.iniciar(), null);
+    }
+
+    @POST
+    @Path("/despejar")
+    @Operation(summary = "Grava em arquivo o conteúdo atual da gravação JFR.",
+            description = "Grava um arquivo .jfr com os eventos registrados até agora, sem interromper a gravação.")
+    public GravacaoJfrResponse despejar() {
+        String arquivo = gravacaoJfr.despejar().toString();
+        return new GravacaoJfrResponse(gravacaoJfr.estado(), arquivo);
+    }
+
+    @POST
+    @Path("/parar")
+    @Operation(summary = "Encerra a gravação JFR.",
+            description = "Encerra a gravação e grava o arquivo .jfr final no diretório configurado.")
+    public GravacaoJfrResponse parar() {
+        String arquivo = gravacaoJfr.parar().toString();
+        return new GravacaoJfrResponse(gravacaoJfr.estado(), arquivo);
+    }
+}
@@ -1,21 +1,36 @@
 package caixaverso.controller;
 
+import caixaverso.dto.EstatisticasCacheResponse;
+import caixaverso.dto.FiltroProdutos;
+import caixaverso.dto.ImportacaoProdutosResponse;
+import caixaverso.dto.PaginaProdutos;
 import caixaverso.dto.ProdutoRequest;
+import caixaverso.dto.RespostaJson;
 import caixaverso.model.ProdutoEmprestimo;
 import caixaverso.service.ProdutoService;
+import caixaverso.util.CborProvider;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Path("/produtos")
-@Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, CborProvider.APPLICATION_CBOR})
+@Consumes({MediaType.APPLICATION_JSON, CborProvider.APPLICATION_CBOR})
 @Transactional
 public class ProdutoController {
 
+    static final String CABECALHO_PROXIMO_CURSOR = "X-Proximo-Cursor";
 
     private final ProdutoService produtoService;
 
@@ -24,18 +39,80 @@ public class ProdutoController {
     }
 
     @GET
-    @Operation(summary = "Lista todos os produtos de empréstimo cadastrados.",
-            description = "Retorna uma lista de todos os produtos de empréstimo cadastrados.")
-    public List<ProdutoEmprestimo> listar() {
-        return produtoService.listarProdutos();
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Lista os produtos de empréstimo cadastrados.",
+            description = "Retorna uma página de produtos ordenada por ID, com filtros opcionais de taxa anual, prazo "
+                    + "atendido e prefixo do nome. Quando há mais produtos, o cabeçalho X-Proximo-Cursor traz o valor "
+                    + "a ser enviado em 'apos' para obter a página seguinte. A resposta traz uma ETag fraca; com "
+                    + "If-None-Match, uma página inalterada é respondida com 304.")
+    @APIResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON,
+            schema = @Schema(type = SchemaType.ARRAY, implementation = ProdutoEmprestimo.class)))
+    public Response listar(@QueryParam("apos") Long apos,
+                           @QueryParam("limite") Integer limite,
+                           @QueryParam("taxaMinima") BigDecimal taxaMinima,
+                           @QueryParam("taxaMaxima") BigDecimal taxaMaxima,
+                           @QueryParam("prazoMeses") Integer prazoMeses,
+                           @QueryParam("nome") String nome,
+                           @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        RespostaJson resposta = produtoService.listarProdutosJson(
+                new FiltroProdutos(apos, limite, taxaMinima, taxaMaxima, prazoMeses, nome));
+
+        Response.ResponseBuilder response = responder(resposta, ifNoneMatch);
+        if (resposta.proximoCursor() != null) {
+            response.header(CABECALHO_PROXIMO_CURSOR, resposta.proximoCursor());
+        }
+        return response.build();
+    }
+
+    // CBOR não passa pelo cache de JSON serializado; o qs menor mantém o JSON como padrão para Accept: */*
+    @GET
+    @Produces(CborProvider.APPLICATION_CBOR + ";qs=0.5")
+    @Operation(summary = "Lista os produtos de empréstimo cadastrados em CBOR.",
+            description = "Mesma listagem paginada, selecionada com Accept: application/cbor, sem ETag.")
+    public Response listarCbor(@QueryParam("apos") Long apos,
+                               @QueryParam("limite") Integer limite,
+                               @QueryParam("taxaMinima") BigDecimal taxaMinima,
+                               @QueryParam("taxaMaxima") BigDecimal taxaMaxima,
+                               @QueryParam("prazoMeses") Integer prazoMeses,
+                               @QueryParam("nome") String nome) {
+        PaginaProdutos pagina = produtoService.listarProdutos(
+                new FiltroProdutos(apos, limite, taxaMinima, taxaMaxima, prazoMeses, nome));
+
+        Response.ResponseBuilder response = Response.ok(pagina.produtos(), CborProvider.APPLICATION_CBOR);
+        if (pagina.proximoCursor() != null) {
+            response.header(CABECALHO_PROXIMO_CURSOR, pagina.proximoCursor());
+        }
+        return response.build();
     }
 
     @GET
     @Path("/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "Busca um produto de empréstimo por ID.",
-            description = "Retorna um produto de empréstimo pelo seu ID.")
-    public ProdutoEmprestimo listarPorId(@PathParam("id") Long id) {
-        return produtoService.listarPorId(id);
+            description = "Retorna um produto de empréstimo pelo seu ID. A resposta traz uma ETag fraca; com "
+                    + "If-None-Match, um produto inalterado é respondido com 304.")
+    @APIResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON,
+            schema = @Schema(implementation = ProdutoEmprestimo.class)))
+    public Response listarPorId(@PathParam("id") Long id,
+                                @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return responder(produtoService.listarPorIdJson(id), ifNoneMatch).build();
+    }
+
+    @GET
+    @Path("/{id}")
+    @Produces(CborProvider.APPLICATION_CBOR + ";qs=0.5")
+    @Operation(summary = "Busca um produto de empréstimo por ID em CBOR.",
+            description = "Selecionada com Accept: application/cbor, sem ETag.")
+    public Response listarPorIdCbor(@PathParam("id") Long id) {
+        return Response.ok(produtoService.listarPorId(id), CborProvider.APPLICATION_CBOR).build();
+    }
+
+    @GET
+    @Path("/cache/estatisticas")
+    @Operation(summary = "Consulta as estatísticas do cache de produtos.",
+            description = "Retorna os acertos, as falhas e o tamanho atual do cache usado pelas simulações.")
+    public EstatisticasCacheResponse estatisticasCache() {
+        return produtoService.estatisticasCache();
     }
 
     @POST
@@ -45,6 +122,28 @@ public class ProdutoController {
         return produtoService.cadastrar(request);
     }
 
+    // Sem transação no recurso: o serviço grava cada lote em uma transação própria
+    @POST
+    @Path("/importacao")
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    @Operation(summary = "Importa produtos de empréstimo em lote.",
+            description = "Recebe uma lista JSON de produtos, valida cada um e grava os válidos em lotes. Retorna o "
+                    + "total recebido, o número de produtos importados e os erros de cada linha rejeitada.")
+    public ImportacaoProdutosResponse importar(List<ProdutoRequest> requests) {
+        return produtoService.importar(requests);
+    }
+
+    @POST
+    @Path("/importacao")
+    @Consumes("text/csv")
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    @Operation(summary = "Importa produtos de empréstimo a partir de um CSV.",
+            description = "Recebe um CSV com as colunas nome, taxaJurosAnual e prazoMaximoMeses (cabeçalho opcional). "
+                    + "Os erros informam o número da linha no arquivo.")
+    public ImportacaoProdutosResponse importarCsv(String conteudo) {
+        return produtoService.importarCsv(conteudo);
+    }
+
     @PUT
     @Path("/{id}")
     @Operation(summary = "Atualiza um produto de empréstimo.",
@@ -60,4 +159,34 @@ public class ProdutoController {
     public void deletar(@PathParam("id") Long id) {
         produtoService.deletar(id);
     }
-}
\ No newline at end of file
+
+    // O corpo já vem serializado do cache; o 304 é decidido só pela ETag, sem banco nem Jackson. A ETag é fraca
+    // porque a compressão HTTP (quarkus.http.compress-media-types) muda os bytes enviados
+    private static Response.ResponseBuilder responder(RespostaJson resposta, String ifNoneMatch) {
+        EntityTag etag = new EntityTag(resposta.etag(), true);
+        if (corresponde(ifNoneMatch, resposta.etag())) {
+            return Response.notModified(etag);
+        }
+        return Response.ok(resposta.corpo(), MediaType.APPLICATION_JSON_TYPE).tag(etag);
+    }
+
+    // If-None-Match usa comparação fraca: W/"x" também corresponde à ETag "x"
+    static boolean corresponde(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidata : ifNoneMatch.split(",")) {
+            String valor = candidata.trim();
+            if (valor.equals("*")) {
+                return true;
+            }
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals("\"" + etag + "\"")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,34 +1,183 @@
 package caixaverso.controller;
 
+import caixaverso.dto.ComparacaoResponse;
+import caixaverso.dto.EstatisticasCacheResponse;
+import caixaverso.dto.GradeSimulacaoRequest;
+import caixaverso.dto.GradeSimulacaoResponse;
+import caixaverso.dto.SimulacaoCompactaResponse;
+import caixaverso.dto.SimulacaoLoteItem;
+import caixaverso.dto.SimulacaoLoteResponse;
 import caixaverso.dto.SimulacaoRequest;
 import caixaverso.dto.SimulacaoResponse;
+import caixaverso.dto.SimulacaoResponse.ParcelaDetalhe;
+import caixaverso.model.ProdutoEmprestimo;
 import caixaverso.service.SimulacaoService;
+import caixaverso.util.CborProvider;
+import caixaverso.util.LeitorValorMonetario;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
 @Path("/simulacoes")
-@Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, CborProvider.APPLICATION_CBOR})
+@Consumes({MediaType.APPLICATION_JSON, CborProvider.APPLICATION_CBOR})
 public class SimulacaoController {
 
+    static final String APPLICATION_NDJSON = "application/x-ndjson";
+    static final String APPLICATION_SIMULACAO_COMPACTA = "application/vnd.caixaverso.simulacao-compacta+json";
+
     private final SimulacaoService simulacaoService;
+    private final ObjectMapper objectMapper;
 
-    public SimulacaoController(SimulacaoService simulacaoService) {
+    public SimulacaoController(SimulacaoService simulacaoService, ObjectMapper objectMapper) {
         this.simulacaoService = simulacaoService;
+        this.objectMapper = objectMapper;
     }
 
     @POST
     @Operation(
             summary = "Simula um empréstimo com base em um produto.",
-            description = "Recebe o ID do produto, valor solicitado e prazo em meses. Retorna o cálculo detalhado."
+            description = "Recebe o ID do produto, valor solicitado e prazo em meses. Retorna o cálculo detalhado, "
+                    + "ou apenas a parcela e o valor total quando resumo=true."
+    )
+    public Response simular(SimulacaoRequest request, @QueryParam("resumo") boolean resumo) {
+        SimulacaoResponse response = resumo ? simulacaoService.simularResumo(request) : simulacaoService.simular(request);
+        return Response.ok(response).build();
+    }
+
+    // Escolhida pelo cabeçalho Accept; o qs menor mantém o JSON completo como padrão para Accept: */*, e o tipo da
+    // resposta é definido sem o qs
+    @POST
+    @Produces(APPLICATION_SIMULACAO_COMPACTA + ";qs=0.5")
+    @Operation(
+            summary = "Simula um empréstimo na representação compacta.",
+            description = "Selecionada com Accept: " + APPLICATION_SIMULACAO_COMPACTA + ". Referencia o produto pelo ID, "
+                    + "traz os valores em centavos e a memória de cálculo em colunas (amortização, juros e saldo "
+                    + "devedor), em que a posição i corresponde ao mês i + 1."
+    )
+    public Response simularCompacta(SimulacaoRequest request, @QueryParam("resumo") boolean resumo) {
+        SimulacaoCompactaResponse response = simulacaoService.simularCompacta(request, resumo);
+        return Response.ok(response).type(APPLICATION_SIMULACAO_COMPACTA).build();
+    }
+
+    @GET
+    @Path("/parcela")
+    @Operation(
+            summary = "Consulta uma parcela específica de uma simulação.",
+            description = "Recebe o ID do produto, valor solicitado, prazo em meses e o mês desejado. "
+                    + "Retorna amortização, juros e saldo devedor daquele mês sem gerar a memória de cálculo completa; "
+                    + "consultas seguintes da mesma simulação leem o saldo do mês direto."
+    )
+    public ParcelaDetalhe simularParcela(@QueryParam("idProduto") Long idProduto,
+                                         @QueryParam("valorSolicitado") String valorSolicitado,
+                                         @QueryParam("prazoMeses") Integer prazoMeses,
+                                         @QueryParam("mes") Integer mes) {
+        return simulacaoService.simularParcela(new SimulacaoRequest(idProduto, centavos(valorSolicitado), prazoMeses), mes);
+    }
+
+    @GET
+    @Path("/comparacao")
+    @Operation(
+            summary = "Compara a simulação de um empréstimo entre todos os produtos elegíveis.",
+            description = "Recebe o valor solicitado e o prazo em meses e simula todos os produtos cujo prazo máximo "
+                    + "atende o prazo, classificando-os pela parcela (ordenacao=parcela, padrão) ou pelo valor total "
+                    + "(ordenacao=total). Com top=K, retorna apenas os K melhores, com a memória de cálculo completa; "
+                    + "sem top, retorna todos os produtos resumidos."
+    )
+    public ComparacaoResponse comparar(@QueryParam("valorSolicitado") String valorSolicitado,
+                                       @QueryParam("prazoMeses") Integer prazoMeses,
+                                       @QueryParam("ordenacao") String ordenacao,
+                                       @QueryParam("top") Integer top) {
+        return simulacaoService.comparar(new SimulacaoRequest(null, centavos(valorSolicitado), prazoMeses), ordenacao, top);
+    }
+
+    @GET
+    @Path("/cache/estatisticas")
+    @Operation(
+            summary = "Consulta as estatísticas do cache de simulações.",
+            description = "Retorna os acertos, as falhas, a taxa de acertos, as remoções por limite de tamanho e o tamanho atual do cache."
+    )
+    public EstatisticasCacheResponse estatisticasCache() {
+        return simulacaoService.estatisticasCache();
+    }
+
+    @POST
+    @Path("/lote")
+    @Operation(
+            summary = "Simula um lote de empréstimos.",
+            description = "Recebe uma lista de simulações e retorna, na mesma ordem, o resultado ou o erro de cada item, "
+                    + "inclusive de valores solicitados inválidos. Com resumo=true, cada item traz apenas a parcela e o valor total."
     )
-    public Response simular(SimulacaoRequest request) {
-        SimulacaoResponse response = simulacaoService.simular(request);
+    public Response simularLote(List<SimulacaoLoteItem> itens, @QueryParam("resumo") boolean resumo) {
+        List<SimulacaoLoteResponse> response = simulacaoService.simularLote(itens, resumo);
         return Response.ok(response).build();
     }
+
+    @POST
+    @Path("/grade")
+    @Operation(
+            summary = "Simula uma grade de valores e prazos para um produto.",
+            description = "Recebe o ID do produto e as faixas de valor (valorMinimo, valorMaximo, passoValor) e de prazo "
+                    + "(prazoMinimo, prazoMaximo, passoPrazo). Retorna uma linha por prazo com a parcela e o total de cada "
+                    + "valor; com resumo=true, as células não trazem a memória de cálculo. Sem resumo, o total de parcelas "
+                    + "(valores x soma dos prazos) também é limitado."
+    )
+    public GradeSimulacaoResponse simularGrade(GradeSimulacaoRequest request, @QueryParam("resumo") boolean resumo) {
+        return simulacaoService.simularGrade(request, resumo);
+    }
+
+    @POST
+    @Path("/parcelas")
+    @Produces(APPLICATION_NDJSON)
+    @Operation(
+            summary = "Transmite a memória de cálculo de uma simulação.",
+            description = "Recebe os mesmos dados da simulação e transmite cada parcela como uma linha JSON (NDJSON), "
+                    + "à medida que é calculada."
+    )
+    public Response simularParcelas(SimulacaoRequest request) {
+        // A validação acontece antes de abrir o fluxo, para que erros ainda virem uma resposta 400 comum
+        ProdutoEmprestimo produto = simulacaoService.validar(request);
+
+        StreamingOutput saida = output -> {
+            ObjectWriter writer = objectMapper.writerFor(ParcelaDetalhe.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(output)) {
+                gerador.setRootValueSeparator(new SerializedString("\n"));
+                try {
+                    simulacaoService.simularParcelas(produto, request, parcela -> {
+                        try {
+                            writer.writeValue(gerador, parcela);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                gerador.writeRaw('\n');
+            }
+        };
+        return Response.ok(saida).build();
+    }
+
+    // Query params seguem as mesmas regras do corpo; sem valor, a validação do serviço responde que ele é obrigatório
+    private static Long centavos(String valorSolicitado) {
+        return valorSolicitado == null ? null : LeitorValorMonetario.lerCentavos(valorSolicitado);
+    }
 }
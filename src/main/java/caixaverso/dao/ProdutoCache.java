@@ -0,0 +1,69 @@
+package caixaverso.dao;
+
+import caixaverso.dto.EstatisticasCacheResponse;
+import caixaverso.model.ProdutoAlterado;
+import caixaverso.model.ProdutoEmprestimo;
+import caixaverso.model.ProdutoSnapshot;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@ApplicationScoped
+public class ProdutoCache {
+
+    private final ProdutoDao produtoDao;
+    private final boolean habilitado;
+
+    private final ConcurrentHashMap<Long, ProdutoSnapshot> produtos = new ConcurrentHashMap<>();
+    private final AtomicLong geracao = new AtomicLong();
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+
+    public ProdutoCache(ProdutoDao produtoDao,
+                        @ConfigProperty(name = "produto.cache.habilitado", defaultValue = "true") boolean habilitado) {
+        this.produtoDao = produtoDao;
+        this.habilitado = habilitado;
+    }
+
+    public ProdutoEmprestimo buscarPorId(Long id) {
+        ProdutoSnapshot snapshot = habilitado ? produtos.get(id) : null;
+        if (snapshot != null) {
+            acertos.increment();
+            return snapshot.paraEntidade();
+        }
+        falhas.increment();
+
+        long geracaoInicial = geracao.get();
+        ProdutoEmprestimo produto = produtoDao.listarPorId(id);
+        if (produto == null || !habilitado) {
+            return produto;
+        }
+
+        ProdutoSnapshot carregado = ProdutoSnapshot.de(produto);
+        produtos.putIfAbsent(id, carregado);
+        // Uma invalidação concorrente com a carga pode ter visto o valor antigo; nesse caso o snapshot é descartado
+        if (geracao.get() != geracaoInicial) {
+            produtos.remove(id, carregado);
+        }
+        return carregado.paraEntidade();
+    }
+
+    public void invalidar(Long id) {
+        geracao.incrementAndGet();
+        produtos.remove(id);
+    }
+
+    // Só invalida depois do commit, para que uma leitura concorrente não recarregue o valor anterior
+    void aoAlterarProduto(@Observes(during = TransactionPhase.AFTER_SUCCESS) ProdutoAlterado evento) {
+        invalidar(evento.id());
+    }
+
+    public EstatisticasCacheResponse estatisticas() {
+        return new EstatisticasCacheResponse(acertos.sum(), falhas.sum(), 0, produtos.size());
+    }
+}
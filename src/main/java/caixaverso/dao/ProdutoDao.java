@@ -1,40 +1,141 @@
 package caixaverso.dao;
 
+import caixaverso.dto.FiltroProdutos;
 import caixaverso.model.ProdutoEmprestimo;
+import caixaverso.observabilidade.ConsultaProdutoEvento;
+import caixaverso.observabilidade.Metricas;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
 
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 @ApplicationScoped
 public class ProdutoDao {
 
     private final EntityManager entityManager;
+    private final Metricas metricas;
 
-    public ProdutoDao(EntityManager entityManager) {
+    public ProdutoDao(EntityManager entityManager, Metricas metricas) {
         this.entityManager = entityManager;
+        this.metricas = metricas;
     }
 
-    public List<ProdutoEmprestimo> listarProdutos() {
-        return entityManager.createQuery("FROM ProdutoEmprestimo", ProdutoEmprestimo.class).getResultList();
+    // Paginação por chave: filtra pelo último ID entregue em vez de usar OFFSET. Sem filtros, a página é lida direto na
+    // ordem da chave primária; com filtros, os índices de ProdutoEmprestimo só limitam as linhas lidas
+    public List<ProdutoEmprestimo> listarProdutos(FiltroProdutos filtro, int limite) {
+        StringBuilder jpql = new StringBuilder("FROM ProdutoEmprestimo p WHERE p.id > :apos");
+        if (filtro.taxaMinima() != null) {
+            jpql.append(" AND p.taxaJurosAnual >= :taxaMinima");
+        }
+        if (filtro.taxaMaxima() != null) {
+            jpql.append(" AND p.taxaJurosAnual <= :taxaMaxima");
+        }
+        if (filtro.prazoMeses() != null) {
+            jpql.append(" AND p.prazoMaximoMeses >= :prazoMeses");
+        }
+        if (filtro.nome() != null && !filtro.nome().isBlank()) {
+            jpql.append(" AND p.nome LIKE :prefixoNome ESCAPE '\\'");
+        }
+        jpql.append(" ORDER BY p.id");
+
+        return medir("listarProdutos", () -> {
+            TypedQuery<ProdutoEmprestimo> query = entityManager.createQuery(jpql.toString(), ProdutoEmprestimo.class)
+                    .setParameter("apos", filtro.apos() == null ? 0L : filtro.apos())
+                    .setMaxResults(limite)
+                    .setHint(HibernateHints.HINT_CACHEABLE, true);
+            if (filtro.taxaMinima() != null) {
+                query.setParameter("taxaMinima", filtro.taxaMinima());
+            }
+            if (filtro.taxaMaxima() != null) {
+                query.setParameter("taxaMaxima", filtro.taxaMaxima());
+            }
+            if (filtro.prazoMeses() != null) {
+                query.setParameter("prazoMeses", filtro.prazoMeses());
+            }
+            if (filtro.nome() != null && !filtro.nome().isBlank()) {
+                query.setParameter("prefixoNome", escaparLike(filtro.nome()) + "%");
+            }
+            return query.getResultList();
+        }, List::size);
     }
 
-    public ProdutoEmprestimo listarPorId(Long id) {
-        return entityManager.find(ProdutoEmprestimo.class, id);
+    // Produtos cujo prazo máximo atende o prazo pedido; usa o cache de consultas, pois o catálogo muda pouco
+    public List<ProdutoEmprestimo> listarElegiveis(int prazoMeses) {
+        return medir("listarElegiveis", () -> entityManager.createQuery(
+                        "FROM ProdutoEmprestimo p WHERE p.prazoMaximoMeses >= :prazoMeses ORDER BY p.id", ProdutoEmprestimo.class)
+                .setParameter("prazoMeses", prazoMeses)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList(), List::size);
+    }
 
+    public ProdutoEmprestimo listarPorId(Long id) {
+        return medir("listarPorId", () -> entityManager.find(ProdutoEmprestimo.class, id), produto -> produto == null ? 0 : 1);
     }
 
     public ProdutoEmprestimo cadastrar(ProdutoEmprestimo produto) {
-        entityManager.persist(produto);
-        return produto;
+        return medir("cadastrar", () -> {
+            entityManager.persist(produto);
+            return produto;
+        }, cadastrado -> 1);
+    }
+
+    // Com hibernate.jdbc.batch_size os INSERTs do lote são enviados em batches JDBC no flush; o cache de segundo nível
+    // é ignorado porque produtos recém-importados ainda não foram lidos por ninguém
+    public void cadastrarLote(List<ProdutoEmprestimo> produtos) {
+        medir("cadastrarLote", () -> {
+            Session session = entityManager.unwrap(Session.class);
+            session.setCacheMode(CacheMode.IGNORE);
+            for (ProdutoEmprestimo produto : produtos) {
+                session.persist(produto);
+            }
+            session.flush();
+            session.clear();
+            return produtos;
+        }, List::size);
     }
 
     public ProdutoEmprestimo atualizar(ProdutoEmprestimo produto) {
-        entityManager.merge(produto);
-        return produto;
+        return medir("atualizar", () -> {
+            entityManager.merge(produto);
+            return produto;
+        }, atualizado -> 1);
     }
 
     public void deletar(ProdutoEmprestimo produto) {
-        entityManager.remove(produto);
+        medir("deletar", () -> {
+            entityManager.remove(produto);
+            return produto;
+        }, deletado -> 1);
+    }
+
+    private static String escaparLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // Registra a duração no Micrometer e, quando há uma gravação JFR ativa, um evento com a operação e as linhas afetadas
+    private <T> T medir(String operacao, Supplier<T> consulta, ToIntFunction<T> linhas) {
+        ConsultaProdutoEvento evento = new ConsultaProdutoEvento();
+        evento.begin();
+        long inicio = System.nanoTime();
+        T resultado = null;
+        boolean concluida = false;
+        try {
+            resultado = consulta.get();
+            concluida = true;
+            return resultado;
+        } finally {
+            metricas.registrarConsulta(operacao, inicio);
+            if (evento.shouldCommit()) {
+                evento.operacao = operacao;
+                evento.linhas = concluida ? linhas.applyAsInt(resultado) : 0;
+                evento.commit();
+            }
+        }
     }
-}
\ No newline at end of file
+}
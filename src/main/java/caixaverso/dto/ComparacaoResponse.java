@@ -0,0 +1,11 @@
+package caixaverso.dto;
+
+import java.util.List;
+
+public record ComparacaoResponse(
+        String valorSolicitado,
+        Integer prazoMeses,
+        String ordenacao,
+        int produtosElegiveis,
+        List<SimulacaoResponse> simulacoes
+) {}
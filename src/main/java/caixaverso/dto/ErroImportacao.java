@@ -0,0 +1,6 @@
+package caixaverso.dto;
+
+public record ErroImportacao(
+        int linha,
+        String mensagem
+) {}
@@ -0,0 +1,17 @@
+package caixaverso.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record EstatisticasCacheResponse(
+        long acertos,
+        long falhas,
+        long remocoes,
+        int tamanho
+) {
+
+    @JsonProperty("taxaAcertos")
+    public double taxaAcertos() {
+        long consultas = acertos + falhas;
+        return consultas == 0 ? 0.0 : (double) acertos / consultas;
+    }
+}
@@ -0,0 +1,12 @@
+package caixaverso.dto;
+
+import java.math.BigDecimal;
+
+public record FiltroProdutos(
+        Long apos,
+        Integer limite,
+        BigDecimal taxaMinima,
+        BigDecimal taxaMaxima,
+        Integer prazoMeses,
+        String nome
+) {}
@@ -0,0 +1,11 @@
+package caixaverso.dto;
+
+public record GradeSimulacaoRequest(
+        Long idProduto,
+        Double valorMinimo,
+        Double valorMaximo,
+        Double passoValor,
+        Integer prazoMinimo,
+        Integer prazoMaximo,
+        Integer passoPrazo
+) {}
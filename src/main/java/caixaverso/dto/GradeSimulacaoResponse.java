@@ -0,0 +1,30 @@
+package caixaverso.dto;
+
+import caixaverso.dto.SimulacaoResponse.ParcelaDetalhe;
+import caixaverso.model.ProdutoEmprestimo;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// Uma linha por prazo e, em cada linha, uma célula por valor solicitado, na ordem de "valores"
+public record GradeSimulacaoResponse(
+        ProdutoEmprestimo produto,
+        String taxaJurosAnual,
+        String taxaJurosEfetivaMensal,
+        List<String> valores,
+        List<Integer> prazos,
+        List<LinhaGrade> linhas
+) {
+    public record LinhaGrade(
+            Integer prazoMeses,
+            List<CelulaGrade> celulas
+    ) {}
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record CelulaGrade(
+            String valorSolicitado,
+            String valorParcelaMensal,
+            String valorTotalComJuros,
+            List<ParcelaDetalhe> memoriaCalculo
+    ) {}
+}
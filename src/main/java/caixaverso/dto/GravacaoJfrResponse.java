@@ -0,0 +1,9 @@
+package caixaverso.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GravacaoJfrResponse(
+        String estado,
+        String arquivo
+) {}
@@ -0,0 +1,9 @@
+package caixaverso.dto;
+
+import java.util.List;
+
+public record ImportacaoProdutosResponse(
+        int total,
+        int importados,
+        List<ErroImportacao> erros
+) {}
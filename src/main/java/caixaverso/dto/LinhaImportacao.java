@@ -0,0 +1,8 @@
+package caixaverso.dto;
+
+// Uma linha lida na importação; erro vem preenchido quando a linha nem chegou a ser convertida em ProdutoRequest
+public record LinhaImportacao(
+        int linha,
+        ProdutoRequest produto,
+        String erro
+) {}
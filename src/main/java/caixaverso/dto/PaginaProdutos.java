@@ -0,0 +1,11 @@
+package caixaverso.dto;
+
+import caixaverso.model.ProdutoEmprestimo;
+
+import java.util.List;
+
+// proximoCursor é o ID a ser enviado em "apos" para obter a página seguinte; nulo na última página
+public record PaginaProdutos(
+        List<ProdutoEmprestimo> produtos,
+        Long proximoCursor
+) {}
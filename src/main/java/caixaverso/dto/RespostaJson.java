@@ -0,0 +1,8 @@
+package caixaverso.dto;
+
+// Corpo JSON já serializado, com a ETag forte calculada sobre os bytes
+public record RespostaJson(
+        byte[] corpo,
+        String etag,
+        Long proximoCursor
+) {}
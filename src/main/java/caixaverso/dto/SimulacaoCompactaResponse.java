@@ -0,0 +1,22 @@
+package caixaverso.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Representação compacta: valores em centavos e a memória de cálculo em colunas, em que a posição i é o mês i + 1
+public record SimulacaoCompactaResponse(
+        Long idProduto,
+        Integer prazoMeses,
+        String taxaJurosAnual,
+        String taxaJurosEfetivaMensal,
+        long valorSolicitadoCentavos,
+        long valorTotalComJurosCentavos,
+        long valorParcelaMensalCentavos,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        MemoriaCalculoCompacta memoriaCalculo
+) {
+    public record MemoriaCalculoCompacta(
+            long[] amortizacaoCentavos,
+            long[] jurosCentavos,
+            long[] saldoDevedorCentavos
+    ) {}
+}
@@ -0,0 +1,27 @@
+package caixaverso.dto;
+
+import caixaverso.exception.RegraValidacao;
+import caixaverso.exception.ValorMonetarioInvalidoException;
+import caixaverso.util.SimulacaoLoteItemDeserializer;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+// Item do corpo de /simulacoes/lote: no JSON é um SimulacaoRequest comum. Um valor solicitado inválido não interrompe
+// a leitura do lote; o item fica só com a mensagem, que vira o erro dele na resposta.
+@JsonDeserialize(using = SimulacaoLoteItemDeserializer.class)
+@Schema(implementation = SimulacaoRequest.class)
+public record SimulacaoLoteItem(
+        @JsonValue SimulacaoRequest request,
+        String erroLeitura,
+        RegraValidacao regraErroLeitura
+) {
+
+    public static SimulacaoLoteItem de(SimulacaoRequest request) {
+        return new SimulacaoLoteItem(request, null, null);
+    }
+
+    public static SimulacaoLoteItem comErro(ValorMonetarioInvalidoException erro) {
+        return new SimulacaoLoteItem(null, erro.getOriginalMessage(), erro.regra());
+    }
+}
@@ -0,0 +1,10 @@
+package caixaverso.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SimulacaoLoteResponse(
+        int indice,
+        SimulacaoResponse simulacao,
+        ErroResponse erro
+) {}
@@ -1,7 +1,20 @@
 package caixaverso.dto;
 
+import caixaverso.util.SimulacaoRequestDeserializer;
+import caixaverso.util.ValorMonetarioSerializer;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+// No JSON o campo continua sendo "valorSolicitado" em reais; aqui ele já chega em centavos exatos
+@JsonDeserialize(using = SimulacaoRequestDeserializer.class)
 public record SimulacaoRequest(
         Long idProduto,
-        Double valorSolicitado,
+        @JsonProperty("valorSolicitado")
+        @JsonSerialize(using = ValorMonetarioSerializer.class)
+        @Schema(name = "valorSolicitado", type = SchemaType.NUMBER, example = "10000.00")
+        Long valorSolicitadoCentavos,
         Integer prazoMeses
-) {}
\ No newline at end of file
+) {}
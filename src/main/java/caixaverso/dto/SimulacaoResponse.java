@@ -1,9 +1,18 @@
 package caixaverso.dto;
 
 import caixaverso.model.ProdutoEmprestimo;
+import caixaverso.util.ParcelaDetalheDeserializer;
+import caixaverso.util.ParcelaDetalheSerializer;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
 
 import java.util.List;
 
+// A inclusão fica na classe, e não no componente, para que o Quarkus gere o serializador sem reflexão (ver JacksonConfig)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record SimulacaoResponse(
         ProdutoEmprestimo produto,
         String valorSolicitado,
@@ -14,10 +23,16 @@ public record SimulacaoResponse(
         String valorParcelaMensal,
         List<ParcelaDetalhe> memoriaCalculo
 ) {
+    // Os valores ficam em centavos e são gravados como texto com duas casas ("1234.56") direto no gerador do Jackson
+    @JsonSerialize(using = ParcelaDetalheSerializer.class)
+    @JsonDeserialize(using = ParcelaDetalheDeserializer.class)
     public record ParcelaDetalhe(
             int mes,
-            String amortizacao,
-            String juros,
-            String saldoDevedor
+            @Schema(type = SchemaType.STRING, example = "98.35")
+            long amortizacao,
+            @Schema(type = SchemaType.STRING, example = "104.91")
+            long juros,
+            @Schema(type = SchemaType.STRING, example = "9901.65")
+            long saldoDevedor
     ) {}
 }
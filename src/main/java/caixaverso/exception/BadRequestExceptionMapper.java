@@ -1,7 +1,9 @@
 package caixaverso.exception;
 
 import caixaverso.dto.ErroResponse;
+import caixaverso.observabilidade.Metricas;
 import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
@@ -9,9 +11,17 @@ import jakarta.ws.rs.ext.Provider;
 @Provider
 public class BadRequestExceptionMapper implements ExceptionMapper<BadRequestException> {
 
+    private final Metricas metricas;
+
+    public BadRequestExceptionMapper(Metricas metricas) {
+        this.metricas = metricas;
+    }
+
     @Override
     public Response toResponse(BadRequestException exception) {
+        metricas.registrarFalhaValidacao("Requisição inválida", RegraValidacao.OUTROS);
         return Response.status(Response.Status.BAD_REQUEST)
+                .type(MediaType.APPLICATION_JSON)
                 .entity(new ErroResponse("Requisição inválida", exception.getMessage()))
                 .build();
     }
@@ -1,6 +1,8 @@
 package caixaverso.exception;
 
 import caixaverso.dto.ErroResponse;
+import caixaverso.observabilidade.Metricas;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
@@ -8,9 +10,17 @@ import jakarta.ws.rs.ext.Provider;
 @Provider
 public class IllegalArgumentExceptionMapper implements ExceptionMapper<IllegalArgumentException> {
 
+    private final Metricas metricas;
+
+    public IllegalArgumentExceptionMapper(Metricas metricas) {
+        this.metricas = metricas;
+    }
+
     @Override
     public Response toResponse(IllegalArgumentException exception) {
+        metricas.registrarFalhaValidacao("Erro de validação", RegraValidacao.de(exception));
         return Response.status(Response.Status.BAD_REQUEST)
+                .type(MediaType.APPLICATION_JSON)
                 .entity(new ErroResponse("Erro de validação", exception.getMessage()))
                 .build();
     }
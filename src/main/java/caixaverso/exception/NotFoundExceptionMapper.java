@@ -2,6 +2,7 @@ package caixaverso.exception;
 
 import caixaverso.dto.ErroResponse;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
@@ -12,6 +13,7 @@ public class NotFoundExceptionMapper implements ExceptionMapper<NotFoundExceptio
     @Override
     public Response toResponse(NotFoundException exception) {
         return Response.status(Response.Status.NOT_FOUND)
+                .type(MediaType.APPLICATION_JSON)
                 .entity(new ErroResponse("Recurso não encontrado", exception.getMessage()))
                 .build();
     }
@@ -0,0 +1,41 @@
+package caixaverso.exception;
+
+// Código fixo de cada regra de validação. Identifica a falha nas métricas sem usar a mensagem, que pode trazer dados
+// da requisição; exceções sem regra conhecida ficam em "outros".
+public enum RegraValidacao {
+
+    DADOS_OBRIGATORIOS("dados-obrigatorios"),
+    PRODUTO_OBRIGATORIO("produto-obrigatorio"),
+    PRODUTO_NAO_ENCONTRADO("produto-nao-encontrado"),
+    VALOR_NAO_POSITIVO("valor-nao-positivo"),
+    VALOR_ACIMA_DO_LIMITE("valor-acima-do-limite"),
+    VALOR_FORMATO_INVALIDO("valor-formato-invalido"),
+    PRAZO_NAO_POSITIVO("prazo-nao-positivo"),
+    PRAZO_ACIMA_DO_PRODUTO("prazo-acima-do-produto"),
+    MES_FORA_DO_PRAZO("mes-fora-do-prazo"),
+    GRADE_FAIXA_INVALIDA("grade-faixa-invalida"),
+    GRADE_ACIMA_DO_LIMITE("grade-acima-do-limite"),
+    LOTE_TAMANHO_INVALIDO("lote-tamanho-invalido"),
+    COMPARACAO_PARAMETRO_INVALIDO("comparacao-parametro-invalido"),
+    OUTROS("outros");
+
+    private final String codigo;
+
+    RegraValidacao(String codigo) {
+        this.codigo = codigo;
+    }
+
+    public String codigo() {
+        return codigo;
+    }
+
+    public static RegraValidacao de(Throwable excecao) {
+        if (excecao instanceof ValidacaoException validacao) {
+            return validacao.regra();
+        }
+        if (excecao instanceof ValorMonetarioInvalidoException valorInvalido) {
+            return valorInvalido.regra();
+        }
+        return OUTROS;
+    }
+}
@@ -0,0 +1,16 @@
+package caixaverso.exception;
+
+// IllegalArgumentException com a regra violada; continua sendo tratada pelo IllegalArgumentExceptionMapper
+public class ValidacaoException extends IllegalArgumentException {
+
+    private final RegraValidacao regra;
+
+    public ValidacaoException(RegraValidacao regra, String mensagem) {
+        super(mensagem);
+        this.regra = regra;
+    }
+
+    public RegraValidacao regra() {
+        return regra;
+    }
+}
@@ -0,0 +1,20 @@
+package caixaverso.exception;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+
+// Lançada durante a leitura do corpo. O leitor JSON do Quarkus só repassa aos mapeadores as MismatchedInputException;
+// as demais falhas do Jackson viram um 400 sem corpo.
+public class ValorMonetarioInvalidoException extends MismatchedInputException {
+
+    private final RegraValidacao regra;
+
+    public ValorMonetarioInvalidoException(JsonParser parser, ValidacaoException causa) {
+        super(parser, causa.getMessage(), Long.class);
+        this.regra = causa.regra();
+    }
+
+    public RegraValidacao regra() {
+        return regra;
+    }
+}
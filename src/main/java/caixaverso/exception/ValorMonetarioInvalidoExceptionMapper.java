@@ -0,0 +1,28 @@
+package caixaverso.exception;
+
+import caixaverso.dto.ErroResponse;
+import caixaverso.observabilidade.Metricas;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+@Provider
+public class ValorMonetarioInvalidoExceptionMapper implements ExceptionMapper<ValorMonetarioInvalidoException> {
+
+    private final Metricas metricas;
+
+    public ValorMonetarioInvalidoExceptionMapper(Metricas metricas) {
+        this.metricas = metricas;
+    }
+
+    // A mensagem original não traz a posição no corpo nem o caminho dos campos acrescentados pelo Jackson
+    @Override
+    public Response toResponse(ValorMonetarioInvalidoException exception) {
+        metricas.registrarFalhaValidacao("Erro de validação", exception.regra());
+        return Response.status(Response.Status.BAD_REQUEST)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(new ErroResponse("Erro de validação", exception.getOriginalMessage()))
+                .build();
+    }
+}
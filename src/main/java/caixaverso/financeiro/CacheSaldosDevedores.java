@@ -0,0 +1,43 @@
+package caixaverso.financeiro;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Guarda, por simulação, o saldo devedor no início de cada mês. A primeira consulta de parcela percorre o prazo uma vez;
+// as seguintes da mesma simulação leem o saldo do mês direto, sem percorrer os anteriores. Ao atingir o tamanho máximo,
+// uma entrada qualquer é descartada; com tamanho zero, nada é guardado.
+final class CacheSaldosDevedores<C, V> {
+
+    private final int tamanhoMaximo;
+    private final ConcurrentHashMap<C, V> saldos = new ConcurrentHashMap<>();
+
+    CacheSaldosDevedores(int tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    V obter(C chave, Function<C, V> calculo) {
+        if (tamanhoMaximo <= 0) {
+            return calculo.apply(chave);
+        }
+        V existente = saldos.get(chave);
+        if (existente != null) {
+            return existente;
+        }
+
+        V calculado = calculo.apply(chave);
+        if (saldos.size() >= tamanhoMaximo) {
+            Iterator<C> chaves = saldos.keySet().iterator();
+            if (chaves.hasNext()) {
+                chaves.next();
+                chaves.remove();
+            }
+        }
+        V anterior = saldos.putIfAbsent(chave, calculado);
+        return anterior == null ? calculado : anterior;
+    }
+
+    int tamanho() {
+        return saldos.size();
+    }
+}
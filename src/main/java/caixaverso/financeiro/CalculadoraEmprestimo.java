@@ -0,0 +1,50 @@
+package caixaverso.financeiro;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.Consumer;
+
+public interface CalculadoraEmprestimo {
+
+    ResultadoCalculoEmprestimo calcular(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, int prazoMeses);
+
+    // Calcula apenas a parcela e o valor total, sem montar a memória de cálculo
+    ResultadoCalculoEmprestimo calcularResumo(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, int prazoMeses);
+
+    // Entrega cada parcela ao visitante assim que é calculada, sem guardar a memória de cálculo
+    ResultadoCalculoEmprestimo percorrerParcelas(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, int prazoMeses,
+                                                 Consumer<ParcelaAmortizacao> visitante);
+
+    // Pré-calcula a potência da Tabela Price para reaproveitá-la em vários valores com a mesma taxa e o mesmo prazo
+    FatorAnuidade calcularFatorAnuidade(BigDecimal taxaJurosMensal, int prazoMeses);
+
+    // Variantes que recebem o fator já calculado; o resultado é idêntico ao das versões com taxa e prazo
+    ResultadoCalculoEmprestimo calcular(BigDecimal valorEmprestimo, FatorAnuidade fatorAnuidade);
+
+    ResultadoCalculoEmprestimo calcularResumo(BigDecimal valorEmprestimo, FatorAnuidade fatorAnuidade);
+
+    // Variantes com o valor em centavos, como chega no SimulacaoRequest; por padrão só convertem para BigDecimal
+    default ResultadoCalculoEmprestimo calcularCentavos(long valorCentavos, BigDecimal taxaJurosMensal, int prazoMeses) {
+        return calcular(BigDecimal.valueOf(valorCentavos, 2), taxaJurosMensal, prazoMeses);
+    }
+
+    default ResultadoCalculoEmprestimo calcularResumoCentavos(long valorCentavos, BigDecimal taxaJurosMensal, int prazoMeses) {
+        return calcularResumo(BigDecimal.valueOf(valorCentavos, 2), taxaJurosMensal, prazoMeses);
+    }
+
+    // Como percorrerParcelas, mas entrega as parcelas em centavos; por padrão converte as parcelas em BigDecimal
+    default ResultadoCalculoEmprestimo percorrerParcelasCentavos(long valorCentavos, BigDecimal taxaJurosMensal, int prazoMeses,
+                                                                 VisitanteParcelaCentavos visitante) {
+        return percorrerParcelas(BigDecimal.valueOf(valorCentavos, 2), taxaJurosMensal, prazoMeses,
+                parcela -> visitante.visitar(parcela.numero(), centavos(parcela.valorAmortizacao()),
+                        centavos(parcela.valorJuros()), centavos(parcela.saldoDevedor())));
+    }
+
+    // Calcula somente a parcela do mês informado, com os mesmos arredondamentos da memória de cálculo. A primeira consulta
+    // de uma simulação percorre o prazo uma vez e guarda os saldos; as seguintes leem o saldo do mês direto
+    ParcelaAmortizacao calcularParcela(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, int prazoMeses, int mes);
+
+    private static long centavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,248 @@
+package caixaverso.financeiro;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Typed;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@ApplicationScoped
+@Typed(CalculadoraEmprestimoCentavos.class)
+public class CalculadoraEmprestimoCentavos implements CalculadoraEmprestimo {
+
+    // Valores monetários em centavos (escala 2) e taxas em ponto fixo com escala 10
+    private static final int ESCALA_VALOR = 2;
+    private static final int ESCALA_TAXA = 10;
+    private static final long FATOR_TAXA = 10_000_000_000L;
+    private static final long MEIO_FATOR_TAXA = FATOR_TAXA / 2;
+
+    // O valor e a taxa em ponto fixo identificam a simulação; a escala do valor só muda a apresentação
+    private record ChaveSaldos(long valorCentavos, long taxaEscalada, int prazoMeses) {}
+
+    private record SaldosCentavos(long parcelaCentavos, long[] saldosIniciais) {}
+
+    private final CalculadoraEmprestimoPrice calculadoraPrice;
+    private final CacheSaldosDevedores<ChaveSaldos, SaldosCentavos> saldosDevedores;
+
+    public CalculadoraEmprestimoCentavos(CalculadoraEmprestimoPrice calculadoraPrice,
+                                         @ConfigProperty(name = "calculadora.parcela.saldos-maximo", defaultValue = "1000") int saldosMaximo) {
+        this.calculadoraPrice = calculadoraPrice;
+        this.saldosDevedores = new CacheSaldosDevedores<>(saldosMaximo);
+    }
+
+    @Override
+    public ResultadoCalculoEmprestimo calcular(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, int prazoMeses) {
+        return calcular(valorEmprestimo, calcularFatorAnuidade(taxaJurosMensal, prazoMeses));
+    }
+
+    @Override
+    public ResultadoCalculoEmprestimo calcular(BigDecimal valorEmprestimo, FatorAnuidade fatorAnuidade) {
+        if (!suportaPontoFixo(valorEmprestimo, fatorAnuidade.taxaJurosMensal(), fatorAnuidade.prazoMeses())) {
+            return calculadoraPrice.calcular(valorEmprestimo, fatorAnuidade);
+        }
+        return calcularPontoFixo(valorEmprestimo, centavos(valorEmprestimo), valorEmprestimo.scale(), fatorAnuidade, true);
+    }
+
+    @Override
+    public ResultadoCalculoEmprestimo calcularResumo(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, int prazoMeses) {
+        return calcularResumo(valorEmprestimo, calcularFatorAnuidade(taxaJurosMensal, prazoMeses));
+    }
+
+    @Override
+    public ResultadoCalculoEmprestimo calcularResumo(BigDecimal valorEmprestimo, FatorAnuidade fatorAnuidade) {
+        if (!suportaPontoFixo(valorEmprestimo, fatorAnuidade.taxaJurosMensal(), fatorAnuidade.prazoMeses())) {
+            return calculadoraPrice.calcularResumo(valorEmprestimo, fatorAnuidade);
+        }
+        return calcularPontoFixo(valorEmprestimo, centavos(valorEmprestimo), valorEmprestimo.scale(), fatorAnuidade, false);
+    }
+
+    // Os centavos já vêm exatos do SimulacaoRequest, então não há casas decimais nem dígitos a conferir no valor
+    @Override
+    public ResultadoCalculoEmprestimo calcularCentavos(long valorCentavos, BigDecimal taxaJurosMensal, int prazoMeses) {
+        BigDecimal valorEmprestimo = BigDecimal.valueOf(valorCentavos, ESCALA_VALOR);
+        FatorAnuidade fatorAnuidade = calcularFatorAnuidade(taxaJurosMensal, prazoMeses);
+        if (!suportaPontoFixo(valorCentavos, taxaJurosMensal, prazoMeses)) {
+            return calculadoraPrice.calcular(valorEmprestimo, fatorAnuidade);
+        }
+        return calcularPontoFixo(valorEmprestimo, valorCentavos, ESCALA_VALOR, fatorAnuidade, true);
+    }
+
+    @Override
+    public ResultadoCalculoEmprestimo calcularResumoCentavos(long valorCentavos, BigDecimal taxaJurosMensal, int prazoMeses) {
+        BigDecimal valorEmprestimo = BigDecimal.valueOf(valorCentavos, ESCALA_VALOR);
+        FatorAnuidade fatorAnuidade = calcularFatorAnuidade(taxaJurosMensal, prazoMeses);
+        if (!suportaPontoFixo(valorCentavos, taxaJurosMensal, prazoMeses)) {
+            return calculadoraPrice.calcularResumo(valorEmprestimo, fatorAnuidade);
+        }
+        return calcularPontoFixo(valorEmprestimo, valorCentavos, ESCALA_VALOR, fatorAnuidade, false);
+    }
+
+    // A parcela é o único passo em BigDecimal: a potência da Tabela Price é calculada uma vez por simulação, com a
+    // precisão da CalculadoraEmprestimoPrice, e arredondada para centavos; só o percurso dos meses usa long
+    private ResultadoCalculoEmprestimo calcularPontoFixo(BigDecimal valorEmprestimo, long valorCentavos, int escalaValor,
+                                                        FatorAnuidade fatorAnuidade, boolean comMemoria) {
+        int prazoMeses = fatorAnuidade.prazoMeses();
+        BigDecimal valorParcela = calculadoraPrice.calcularValorParcela(valorEmprestimo, fatorAnuidade);
+        List<ParcelaAmortizacao> memoria = comMemoria ? new ArrayList<>(prazoMeses) : List.of();
+        long totalCentavos = gerarParcelas(valorCentavos, fatorAnuidade.taxaJurosMensal(), prazoMeses, valorParcela,
+                comMemoria ? materializar(escalaValor, prazoMeses, memoria::add) : null);
+
+        return new ResultadoCalculoEmprestimo(valorParcela, valor(totalCentavos, ESCALA_VALOR), memoria);
+    }
+
+    @Override
+    public FatorAnuidade calcularFatorAnuidade(BigDecimal taxaJurosMensal, int prazoMeses) {
+        return calculadoraPrice.calcularFatorAnuidade(taxaJurosMensal, prazoMeses);
+    }
+
+    @Override
+    public ResultadoCalculoEmprestimo percorrerParcelas(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, int prazoMeses,
+                                                        Consumer<ParcelaAmortizacao> visitante) {
+        if (!suportaPontoFixo(valorEmprestimo, taxaJurosMensal, prazoMeses)) {
+            return calculadoraPrice.percorrerParcelas(valorEmprestimo, taxaJurosMensal, prazoMeses, visitante);
+        }
+
+        BigDecimal valorParcela = calculadoraPrice.calcularValorParcela(valorEmprestimo, taxaJurosMensal, prazoMeses);
+        long totalCentavos = gerarParcelas(centavos(valorEmprestimo), taxaJurosMensal, prazoMeses, valorParcela,
+                materializar(valorEmprestimo.scale(), prazoMeses, visitante));
+
+        return new ResultadoCalculoEmprestimo(valorParcela, valor(totalCentavos, ESCALA_VALOR), List.of());
+    }
+
+    // As parcelas saem do laço em long direto para o visitante, sem ParcelaAmortizacao nem BigDecimal por parcela
+    @Override
+    public ResultadoCalculoEmprestimo percorrerParcelasCentavos(long valorCentavos, BigDecimal taxaJurosMensal, int prazoMeses,
+                                                                VisitanteParcelaCentavos visitante) {
+        if (!suportaPontoFixo(valorCentavos, taxaJurosMensal, prazoMeses)) {
+            return CalculadoraEmprestimo.super.percorrerParcelasCentavos(valorCentavos, taxaJurosMensal, prazoMeses, visitante);
+        }
+
+        BigDecimal valorEmprestimo = BigDecimal.valueOf(valorCentavos, ESCALA_VALOR);
+        BigDecimal valorParcela = calculadoraPrice.calcularValorParcela(valorEmprestimo, taxaJurosMensal, prazoMeses);
+        long totalCentavos = gerarParcelas(valorCentavos, taxaJurosMensal, prazoMeses, valorParcela,
+                (numero, amortizacao, juros, saldoDevedor) -> visitante.visitar(numero, amortizacao, juros, Math.max(saldoDevedor, 0)));
+
+        return new ResultadoCalculoEmprestimo(valorParcela, valor(totalCentavos, ESCALA_VALOR), List.of());
+    }
+
+    @Override
+    public ParcelaAmortizacao calcularParcela(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, int prazoMeses, int mes) {
+        if (!suportaPontoFixo(valorEmprestimo, taxaJurosMensal, prazoMeses)) {
+            return calculadoraPrice.calcularParcela(valorEmprestimo, taxaJurosMensal, prazoMeses, mes);
+        }
+        if (mes < 1 || mes > prazoMeses) {
+            throw new IllegalArgumentException("O mês deve estar entre 1 e o prazo da simulação.");
+        }
+
+        long taxaEscalada = taxaJurosMensal.movePointRight(ESCALA_TAXA).longValueExact();
+        int escalaSaldo = prazoMeses == 1 ? valorEmprestimo.scale() : Math.max(valorEmprestimo.scale(), ESCALA_VALOR);
+
+        // O arredondamento mensal dos juros impede uma fórmula fechada exata; o saldo de cada mês vem do cache da simulação
+        SaldosCentavos saldos = saldosDevedores.obter(new ChaveSaldos(centavos(valorEmprestimo), taxaEscalada, prazoMeses),
+                chave -> calcularSaldos(valorEmprestimo, taxaJurosMensal, chave));
+        long parcelaCentavos = saldos.parcelaCentavos();
+        long saldoDevedor = saldos.saldosIniciais()[mes - 1];
+
+        long jurosDoMes = arredondarJuros(saldoDevedor * taxaEscalada);
+        boolean ultimaParcela = mes == prazoMeses;
+        long amortizacaoDoMes = ultimaParcela ? saldoDevedor : parcelaCentavos - jurosDoMes;
+        saldoDevedor -= amortizacaoDoMes;
+
+        return new ParcelaAmortizacao(
+                mes,
+                ultimaParcela ? valor(amortizacaoDoMes, escalaSaldo) : valor(amortizacaoDoMes, ESCALA_VALOR),
+                valor(jurosDoMes, ESCALA_VALOR),
+                saldoDevedor < 0 ? BigDecimal.ZERO : valor(saldoDevedor, escalaSaldo));
+    }
+
+    // Um único percurso do prazo, só com aritmética de long: o saldo devedor no início de cada mês
+    private SaldosCentavos calcularSaldos(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, ChaveSaldos chave) {
+        BigDecimal valorParcela = calculadoraPrice.calcularValorParcela(valorEmprestimo, taxaJurosMensal, chave.prazoMeses());
+        long parcelaCentavos = valorParcela.movePointRight(ESCALA_VALOR).longValueExact();
+        long[] saldosIniciais = new long[chave.prazoMeses()];
+        long saldoDevedor = chave.valorCentavos();
+        for (int mes = 1; mes <= chave.prazoMeses(); mes++) {
+            saldosIniciais[mes - 1] = saldoDevedor;
+            saldoDevedor -= parcelaCentavos - arredondarJuros(saldoDevedor * chave.taxaEscalada());
+        }
+        return new SaldosCentavos(parcelaCentavos, saldosIniciais);
+    }
+
+    // Percorre as parcelas em centavos e devolve o total; o visitante recebe o saldo sem o piso em zero
+    private long gerarParcelas(long valorCentavos, BigDecimal taxaJurosMensal, int prazoMeses, BigDecimal valorParcela,
+                               VisitanteParcelaCentavos visitante) {
+        long taxaEscalada = taxaJurosMensal.movePointRight(ESCALA_TAXA).longValueExact();
+        long parcelaCentavos = valorParcela.movePointRight(ESCALA_VALOR).longValueExact();
+
+        long saldoDevedor = valorCentavos;
+        long totalCentavos = 0;
+
+        for (int mes = 1; mes <= prazoMeses; mes++) {
+            long jurosDoMes = arredondarJuros(saldoDevedor * taxaEscalada);
+            boolean ultimaParcela = mes == prazoMeses;
+            long amortizacaoDoMes = ultimaParcela ? saldoDevedor : parcelaCentavos - jurosDoMes;
+
+            saldoDevedor -= amortizacaoDoMes;
+            totalCentavos += amortizacaoDoMes + jurosDoMes;
+
+            if (visitante != null) {
+                visitante.visitar(mes, amortizacaoDoMes, jurosDoMes, saldoDevedor);
+            }
+        }
+        return totalCentavos;
+    }
+
+    // Converte as parcelas para BigDecimal só para quem pede ParcelaAmortizacao (memória de cálculo e percorrerParcelas)
+    private static VisitanteParcelaCentavos materializar(int escalaValor, int prazoMeses, Consumer<ParcelaAmortizacao> visitante) {
+        // O saldo devedor herda a escala do valor solicitado, como na calculadora BigDecimal
+        int escalaSaldo = prazoMeses == 1 ? escalaValor : Math.max(escalaValor, ESCALA_VALOR);
+        return (mes, amortizacao, juros, saldoDevedor) -> visitante.accept(new ParcelaAmortizacao(
+                mes,
+                mes == prazoMeses ? valor(amortizacao, escalaSaldo) : valor(amortizacao, ESCALA_VALOR),
+                valor(juros, ESCALA_VALOR),
+                saldoDevedor < 0 ? BigDecimal.ZERO : valor(saldoDevedor, escalaSaldo)));
+    }
+
+    private boolean suportaPontoFixo(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, int prazoMeses) {
+        if (valorEmprestimo.signum() <= 0 || casasDecimais(valorEmprestimo) > ESCALA_VALOR
+                || valorEmprestimo.precision() - valorEmprestimo.scale() > 15) {
+            return false;
+        }
+        return suportaPontoFixo(centavos(valorEmprestimo), taxaJurosMensal, prazoMeses);
+    }
+
+    private boolean suportaPontoFixo(long valorCentavos, BigDecimal taxaJurosMensal, int prazoMeses) {
+        if (prazoMeses <= 0 || valorCentavos <= 0 || taxaJurosMensal.signum() < 0) {
+            return false;
+        }
+        if (casasDecimais(taxaJurosMensal) > ESCALA_TAXA || taxaJurosMensal.compareTo(BigDecimal.ONE) >= 0) {
+            return false;
+        }
+        // Garante que saldo * taxa cabe em um long mesmo com folga para o arredondamento
+        long taxaEscalada = taxaJurosMensal.movePointRight(ESCALA_TAXA).longValueExact();
+        return taxaEscalada == 0 || valorCentavos <= Long.MAX_VALUE / 2 / taxaEscalada;
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor.movePointRight(ESCALA_VALOR).longValueExact();
+    }
+
+    private static int casasDecimais(BigDecimal valor) {
+        return valor.scale() <= 0 ? 0 : valor.stripTrailingZeros().scale();
+    }
+
+    // Arredonda de escala 12 (centavos x taxa) para centavos usando HALF_UP, como o setScale da calculadora BigDecimal
+    private static long arredondarJuros(long produto) {
+        return produto >= 0
+                ? (produto + MEIO_FATOR_TAXA) / FATOR_TAXA
+                : -((-produto + MEIO_FATOR_TAXA) / FATOR_TAXA);
+    }
+
+    private static BigDecimal valor(long centavos, int escala) {
+        BigDecimal valor = BigDecimal.valueOf(centavos, ESCALA_VALOR);
+        return escala == ESCALA_VALOR ? valor : valor.setScale(escala);
+    }
+}
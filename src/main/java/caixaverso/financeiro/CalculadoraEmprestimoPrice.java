@@ -1,49 +1,156 @@
 package caixaverso.financeiro;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Typed;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @ApplicationScoped
-public class CalculadoraEmprestimoPrice {
+@Typed(CalculadoraEmprestimoPrice.class)
+public class CalculadoraEmprestimoPrice implements CalculadoraEmprestimo {
 
     private static final int FINAL_SCALE = 2;
     private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
 
+    private record ChaveSaldos(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, int prazoMeses) {}
+
+    private record SaldosDevedores(BigDecimal valorParcela, BigDecimal[] saldosIniciais) {}
+
+    private final MathContext mathContext;
+    private final CacheSaldosDevedores<ChaveSaldos, SaldosDevedores> saldosDevedores;
+
+    // Precisão zero mantém a aritmética exata; qualquer outro valor limita os dígitos dos cálculos intermediários
+    public CalculadoraEmprestimoPrice(@ConfigProperty(name = "calculadora.precisao", defaultValue = "34") int precisao,
+                                      @ConfigProperty(name = "calculadora.parcela.saldos-maximo", defaultValue = "1000") int saldosMaximo) {
+        this.mathContext = precisao == 0 ? MathContext.UNLIMITED : new MathContext(precisao, ROUNDING_MODE);
+        this.saldosDevedores = new CacheSaldosDevedores<>(saldosMaximo);
+    }
+
+    @Override
     public ResultadoCalculoEmprestimo calcular(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, int prazoMeses) {
-        BigDecimal valorParcela = calcularValorParcela(valorEmprestimo, taxaJurosMensal, prazoMeses);
-        List<ParcelaAmortizacao> memoriaCalculo = gerarMemoriaCalculo(valorEmprestimo, taxaJurosMensal, prazoMeses, valorParcela);
+        return calcular(valorEmprestimo, calcularFatorAnuidade(taxaJurosMensal, prazoMeses));
+    }
 
-        // Recalcula o valor total a partir da soma das parcelas para maior precisão
-        BigDecimal valorTotal = memoriaCalculo.stream()
-                .map(p -> p.valorAmortizacao().add(p.valorJuros()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .setScale(FINAL_SCALE, ROUNDING_MODE);
+    @Override
+    public ResultadoCalculoEmprestimo calcular(BigDecimal valorEmprestimo, FatorAnuidade fatorAnuidade) {
+        int prazoMeses = fatorAnuidade.prazoMeses();
+        BigDecimal valorParcela = calcularValorParcela(valorEmprestimo, fatorAnuidade);
+        List<ParcelaAmortizacao> memoriaCalculo = new ArrayList<>(Math.max(prazoMeses, 0));
+        BigDecimal valorTotal = gerarMemoriaCalculo(valorEmprestimo, fatorAnuidade.taxaJurosMensal(), prazoMeses, valorParcela,
+                memoriaCalculo::add);
 
         return new ResultadoCalculoEmprestimo(valorParcela, valorTotal, memoriaCalculo);
     }
 
-    private BigDecimal calcularValorParcela(BigDecimal valorPresente, BigDecimal taxa, int numeroPeriodos) {
+    @Override
+    public ResultadoCalculoEmprestimo percorrerParcelas(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, int prazoMeses,
+                                                        Consumer<ParcelaAmortizacao> visitante) {
+        BigDecimal valorParcela = calcularValorParcela(valorEmprestimo, taxaJurosMensal, prazoMeses);
+        BigDecimal valorTotal = gerarMemoriaCalculo(valorEmprestimo, taxaJurosMensal, prazoMeses, valorParcela, visitante);
+
+        return new ResultadoCalculoEmprestimo(valorParcela, valorTotal, List.of());
+    }
+
+    @Override
+    public ResultadoCalculoEmprestimo calcularResumo(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, int prazoMeses) {
+        return calcularResumo(valorEmprestimo, calcularFatorAnuidade(taxaJurosMensal, prazoMeses));
+    }
+
+    @Override
+    public ResultadoCalculoEmprestimo calcularResumo(BigDecimal valorEmprestimo, FatorAnuidade fatorAnuidade) {
+        BigDecimal valorParcela = calcularValorParcela(valorEmprestimo, fatorAnuidade);
+        BigDecimal valorTotal = gerarMemoriaCalculo(valorEmprestimo, fatorAnuidade.taxaJurosMensal(), fatorAnuidade.prazoMeses(),
+                valorParcela, null);
+
+        return new ResultadoCalculoEmprestimo(valorParcela, valorTotal, List.of());
+    }
+
+    @Override
+    public ParcelaAmortizacao calcularParcela(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, int prazoMeses, int mes) {
+        if (mes < 1 || mes > prazoMeses) {
+            throw new IllegalArgumentException("O mês deve estar entre 1 e o prazo da simulação.");
+        }
+        // O arredondamento mensal dos juros impede uma fórmula fechada; o saldo de cada mês vem do cache da simulação
+        SaldosDevedores saldos = saldosDevedores.obter(new ChaveSaldos(valorEmprestimo, taxaJurosMensal, prazoMeses),
+                this::calcularSaldos);
+        BigDecimal valorParcela = saldos.valorParcela();
+        BigDecimal saldoDevedor = saldos.saldosIniciais()[mes - 1];
+
+        BigDecimal jurosDoMes = saldoDevedor.multiply(taxaJurosMensal).setScale(FINAL_SCALE, ROUNDING_MODE);
+        BigDecimal amortizacaoDoMes = (mes == prazoMeses) ? saldoDevedor : valorParcela.subtract(jurosDoMes);
+        saldoDevedor = saldoDevedor.subtract(amortizacaoDoMes);
+
+        return new ParcelaAmortizacao(mes, amortizacaoDoMes, jurosDoMes, saldoDevedor.max(BigDecimal.ZERO));
+    }
+
+    private SaldosDevedores calcularSaldos(ChaveSaldos chave) {
+        BigDecimal valorParcela = calcularValorParcela(chave.valorEmprestimo(), chave.taxaJurosMensal(), chave.prazoMeses());
+        BigDecimal[] saldosIniciais = new BigDecimal[chave.prazoMeses()];
+        BigDecimal saldoDevedor = chave.valorEmprestimo();
+        for (int mes = 1; mes <= chave.prazoMeses(); mes++) {
+            saldosIniciais[mes - 1] = saldoDevedor;
+            BigDecimal jurosDoMes = saldoDevedor.multiply(chave.taxaJurosMensal()).setScale(FINAL_SCALE, ROUNDING_MODE);
+            saldoDevedor = saldoDevedor.subtract(valorParcela.subtract(jurosDoMes));
+        }
+        return new SaldosDevedores(valorParcela, saldosIniciais);
+    }
+
+    @Override
+    public FatorAnuidade calcularFatorAnuidade(BigDecimal taxaJurosMensal, int prazoMeses) {
         // Trata o caso de juros zero
-        if (taxa.compareTo(BigDecimal.ZERO) == 0) {
+        if (taxaJurosMensal.compareTo(BigDecimal.ZERO) == 0) {
+            return new FatorAnuidade(taxaJurosMensal, prazoMeses, null, null);
+        }
+        BigDecimal fator = potencia(BigDecimal.ONE.add(taxaJurosMensal), prazoMeses);
+        return new FatorAnuidade(taxaJurosMensal, prazoMeses, fator, fator.subtract(BigDecimal.ONE, mathContext));
+    }
+
+    BigDecimal calcularValorParcela(BigDecimal valorPresente, BigDecimal taxa, int numeroPeriodos) {
+        return calcularValorParcela(valorPresente, calcularFatorAnuidade(taxa, numeroPeriodos));
+    }
+
+    BigDecimal calcularValorParcela(BigDecimal valorPresente, FatorAnuidade fatorAnuidade) {
+        int numeroPeriodos = fatorAnuidade.prazoMeses();
+        if (fatorAnuidade.fator() == null) {
             if (numeroPeriodos <= 0) return BigDecimal.ZERO;
             return valorPresente.divide(BigDecimal.valueOf(numeroPeriodos), FINAL_SCALE, ROUNDING_MODE);
         }
 
         // Fórmula da Tabela Price: PMT = PV * [i * (1+i)^n] / [(1+i)^n - 1]
-        BigDecimal fator = BigDecimal.ONE.add(taxa).pow(numeroPeriodos);
-        BigDecimal numerador = valorPresente.multiply(taxa).multiply(fator);
-        BigDecimal denominador = fator.subtract(BigDecimal.ONE);
+        BigDecimal numerador = valorPresente.multiply(fatorAnuidade.taxaJurosMensal(), mathContext)
+                .multiply(fatorAnuidade.fator(), mathContext);
 
-        return numerador.divide(denominador, FINAL_SCALE, ROUNDING_MODE);
+        return numerador.divide(fatorAnuidade.denominador(), FINAL_SCALE, ROUNDING_MODE);
     }
 
-    private List<ParcelaAmortizacao> gerarMemoriaCalculo(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, int prazoMeses, BigDecimal valorParcela) {
-        List<ParcelaAmortizacao> memoria = new ArrayList<>();
+    private BigDecimal potencia(BigDecimal base, int expoente) {
+        // Exponenciação por quadrados: O(log n) multiplicações, cada uma limitada pela precisão configurada
+        BigDecimal resultado = BigDecimal.ONE;
+        BigDecimal quadrado = base;
+        int restante = expoente;
+        while (restante > 0) {
+            if ((restante & 1) == 1) {
+                resultado = resultado.multiply(quadrado, mathContext);
+            }
+            restante >>= 1;
+            if (restante > 0) {
+                quadrado = quadrado.multiply(quadrado, mathContext);
+            }
+        }
+        return resultado;
+    }
+
+    // Percorre as parcelas e devolve o valor total; cada parcela só é materializada quando há um visitante
+    private BigDecimal gerarMemoriaCalculo(BigDecimal valorEmprestimo, BigDecimal taxaJurosMensal, int prazoMeses, BigDecimal valorParcela,
+                                           Consumer<ParcelaAmortizacao> visitante) {
         BigDecimal saldoDevedor = valorEmprestimo;
+        BigDecimal valorTotal = BigDecimal.ZERO;
 
         for (int mes = 1; mes <= prazoMeses; mes++) {
             BigDecimal jurosDoMes = saldoDevedor.multiply(taxaJurosMensal).setScale(FINAL_SCALE, ROUNDING_MODE);
@@ -55,8 +162,13 @@ public class CalculadoraEmprestimoPrice {
 
             saldoDevedor = saldoDevedor.subtract(amortizacaoDoMes);
 
-            memoria.add(new ParcelaAmortizacao(mes, amortizacaoDoMes, jurosDoMes, saldoDevedor.max(BigDecimal.ZERO)));
+            // Recalcula o valor total a partir da soma das parcelas para maior precisão
+            valorTotal = valorTotal.add(amortizacaoDoMes).add(jurosDoMes);
+
+            if (visitante != null) {
+                visitante.accept(new ParcelaAmortizacao(mes, amortizacaoDoMes, jurosDoMes, saldoDevedor.max(BigDecimal.ZERO)));
+            }
         }
-        return memoria;
+        return valorTotal.setScale(FINAL_SCALE, ROUNDING_MODE);
     }
-}
\ No newline at end of file
+}
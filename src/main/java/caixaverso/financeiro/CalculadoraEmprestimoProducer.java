@@ -0,0 +1,25 @@
+package caixaverso.financeiro;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@ApplicationScoped
+public class CalculadoraEmprestimoProducer {
+
+    static final String MOTOR_BIGDECIMAL = "bigdecimal";
+    static final String MOTOR_CENTAVOS = "centavos";
+
+    @Produces
+    @Singleton
+    CalculadoraEmprestimo calculadora(@ConfigProperty(name = "calculadora.motor", defaultValue = MOTOR_CENTAVOS) String motor,
+                                      CalculadoraEmprestimoPrice calculadoraPrice,
+                                      CalculadoraEmprestimoCentavos calculadoraCentavos) {
+        return switch (motor) {
+            case MOTOR_BIGDECIMAL -> calculadoraPrice;
+            case MOTOR_CENTAVOS -> calculadoraCentavos;
+            default -> throw new IllegalArgumentException("Motor de cálculo desconhecido: " + motor);
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package caixaverso.financeiro;
+
+import java.math.BigDecimal;
+
+// (1 + i)^n e (1 + i)^n - 1 de uma taxa e um prazo; nulos quando a taxa é zero. Vale para qualquer valor solicitado.
+public record FatorAnuidade(
+        BigDecimal taxaJurosMensal,
+        int prazoMeses,
+        BigDecimal fator,
+        BigDecimal denominador
+) {
+}
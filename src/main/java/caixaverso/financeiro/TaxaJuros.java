@@ -0,0 +1,22 @@
+package caixaverso.financeiro;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class TaxaJuros {
+
+    public static final int ESCALA_TAXA_MENSAL = 10;
+
+    private TaxaJuros() {
+    }
+
+    // Converte a taxa anual em percentual para a taxa mensal equivalente em decimal: (1 + i_a)^(1/12) - 1
+    public static BigDecimal calcularTaxaMensalEquivalente(BigDecimal taxaAnual) {
+
+        BigDecimal taxaAnualDecimal = taxaAnual.divide(BigDecimal.valueOf(100), ESCALA_TAXA_MENSAL, RoundingMode.HALF_UP);
+        double base = BigDecimal.ONE.add(taxaAnualDecimal).doubleValue();
+        double expoente = 1.0 / 12.0;
+        double taxaMensalDouble = Math.pow(base, expoente) - 1;
+        return BigDecimal.valueOf(taxaMensalDouble).setScale(ESCALA_TAXA_MENSAL, RoundingMode.HALF_UP);
+    }
+}
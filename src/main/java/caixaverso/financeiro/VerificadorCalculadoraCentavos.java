@@ -0,0 +1,81 @@
+package caixaverso.financeiro;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+@ApplicationScoped
+public class VerificadorCalculadoraCentavos {
+
+    private static final Logger LOG = Logger.getLogger(VerificadorCalculadoraCentavos.class);
+
+    // Domínio aceito pelos validadores: até R$1.000.000,00, até 360 meses e até 360% ao ano
+    static final int PRAZO_MAXIMO = 360;
+    static final long VALOR_MAXIMO_CENTAVOS = 100_000_000L;
+    static final long TAXA_MENSAL_MAXIMA_ESCALADA = 1_356_115_980L;
+
+    private static final long[] VALORES_LIMITE = {1L, 99L, 100L, 12_345L, 1_000_000L, VALOR_MAXIMO_CENTAVOS - 1, VALOR_MAXIMO_CENTAVOS};
+    private static final long[] TAXAS_LIMITE = {0L, 1L, 99_588_018L, 153_094_705L, TAXA_MENSAL_MAXIMA_ESCALADA};
+
+    private final CalculadoraEmprestimoPrice calculadoraPrice;
+    private final CalculadoraEmprestimoCentavos calculadoraCentavos;
+    private final boolean habilitada;
+    private final int amostrasPorPrazo;
+
+    public VerificadorCalculadoraCentavos(CalculadoraEmprestimoPrice calculadoraPrice,
+                                          CalculadoraEmprestimoCentavos calculadoraCentavos,
+                                          @ConfigProperty(name = "calculadora.verificacao.habilitada", defaultValue = "false") boolean habilitada,
+                                          @ConfigProperty(name = "calculadora.verificacao.amostras-por-prazo", defaultValue = "200") int amostrasPorPrazo) {
+        this.calculadoraPrice = calculadoraPrice;
+        this.calculadoraCentavos = calculadoraCentavos;
+        this.habilitada = habilitada;
+        this.amostrasPorPrazo = amostrasPorPrazo;
+    }
+
+    void aoIniciar(@Observes StartupEvent event) {
+        if (habilitada) {
+            int verificados = verificar(amostrasPorPrazo, 42L);
+            LOG.infof("Calculadora em centavos verificada contra a calculadora BigDecimal em %d simulações.", verificados);
+        }
+    }
+
+    public int verificar(int amostrasPorPrazo, long semente) {
+        SplittableRandom random = new SplittableRandom(semente);
+        int verificados = 0;
+
+        for (int prazo = 1; prazo <= PRAZO_MAXIMO; prazo++) {
+            for (long valor : VALORES_LIMITE) {
+                for (long taxa : TAXAS_LIMITE) {
+                    comparar(valor, taxa, prazo);
+                    verificados++;
+                }
+            }
+            for (int amostra = 0; amostra < amostrasPorPrazo; amostra++) {
+                long valor = random.nextLong(1, VALOR_MAXIMO_CENTAVOS + 1);
+                long taxa = random.nextLong(0, TAXA_MENSAL_MAXIMA_ESCALADA + 1);
+                comparar(valor, taxa, prazo);
+                verificados++;
+            }
+        }
+        return verificados;
+    }
+
+    private void comparar(long valorCentavos, long taxaEscalada, int prazo) {
+        BigDecimal valor = BigDecimal.valueOf(valorCentavos, 2);
+        BigDecimal taxa = BigDecimal.valueOf(taxaEscalada, 10);
+
+        ResultadoCalculoEmprestimo esperado = calculadoraPrice.calcular(valor, taxa, prazo);
+        ResultadoCalculoEmprestimo obtido = calculadoraCentavos.calcular(valor, taxa, prazo);
+
+        if (!esperado.equals(obtido)) {
+            throw new IllegalStateException(String.format(
+                    "Calculadora em centavos divergiu da calculadora BigDecimal (valor %s, taxa %s, prazo %d).",
+                    valor, taxa, prazo));
+        }
+    }
+}
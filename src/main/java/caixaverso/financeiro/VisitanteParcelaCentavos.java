@@ -0,0 +1,8 @@
+package caixaverso.financeiro;
+
+// Recebe cada parcela com os valores em centavos, sem um objeto nem BigDecimal por parcela
+@FunctionalInterface
+public interface VisitanteParcelaCentavos {
+
+    void visitar(int numero, long amortizacaoCentavos, long jurosCentavos, long saldoDevedorCentavos);
+}
@@ -0,0 +1,4 @@
+package caixaverso.model;
+
+public record ProdutoAlterado(Long id) {
+}
@@ -1,14 +1,25 @@
 package caixaverso.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "produtos_emprestimo")
+@Cacheable
+@Table(name = "produtos_emprestimo", indexes = {
+        // Os índices só restringem as linhas lidas pelos filtros da listagem: faixa de taxa, prazo mínimo e prefixo do
+        // nome devolvem as linhas na ordem (coluna, id), não por ID, então uma página filtrada ainda ordena todas as
+        // linhas que atendem o filtro após o cursor, O(m log m) para m linhas
+        @Index(name = "idx_produto_taxa_id", columnList = "taxaJurosAnual, id"),
+        @Index(name = "idx_produto_prazo_id", columnList = "prazoMaximoMeses, id"),
+        @Index(name = "idx_produto_nome_id", columnList = "nome, id")
+})
 public class ProdutoEmprestimo {
 
+    // Sequência com alocação em blocos: uma ida ao banco reserva 50 IDs, o que permite inserções em lote via JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_seq")
+    @SequenceGenerator(name = "produto_seq", sequenceName = "produtos_emprestimo_SEQ", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -20,6 +31,14 @@ public class ProdutoEmprestimo {
     @Column(nullable = false)
     private Integer prazoMaximoMeses;
 
+    // Taxa mensal equivalente, calculada no cadastro para não ser derivada a cada simulação
+    @Column(precision = 12, scale = 10)
+    private BigDecimal taxaJurosMensal;
+
+    // Incrementada a cada alteração; compõe a chave do cache de simulações
+    @Version
+    private Long versao;
+
     public ProdutoEmprestimo() {}
 
     public ProdutoEmprestimo(String nome, BigDecimal taxaJurosAnual, Integer prazoMaximoMeses) {
@@ -59,4 +78,21 @@ public class ProdutoEmprestimo {
     public void setPrazoMaximoMeses(Integer prazoMaximoMeses) {
         this.prazoMaximoMeses = prazoMaximoMeses;
     }
+
+    public BigDecimal getTaxaJurosMensal() {
+        return taxaJurosMensal;
+    }
+
+    public void setTaxaJurosMensal(BigDecimal taxaJurosMensal) {
+        this.taxaJurosMensal = taxaJurosMensal;
+    }
+
+    @JsonIgnore
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
@@ -0,0 +1,27 @@
+package caixaverso.model;
+
+import java.math.BigDecimal;
+
+public record ProdutoSnapshot(
+        Long id,
+        String nome,
+        BigDecimal taxaJurosAnual,
+        Integer prazoMaximoMeses,
+        BigDecimal taxaJurosMensal,
+        Long versao
+) {
+
+    public static ProdutoSnapshot de(ProdutoEmprestimo produto) {
+        return new ProdutoSnapshot(produto.getId(), produto.getNome(), produto.getTaxaJurosAnual(), produto.getPrazoMaximoMeses(),
+                produto.getTaxaJurosMensal(), produto.getVersao());
+    }
+
+    // Cada leitura recebe uma cópia destacada, para que o snapshot compartilhado nunca seja alterado
+    public ProdutoEmprestimo paraEntidade() {
+        ProdutoEmprestimo produto = new ProdutoEmprestimo(nome, taxaJurosAnual, prazoMaximoMeses);
+        produto.setId(id);
+        produto.setTaxaJurosMensal(taxaJurosMensal);
+        produto.setVersao(versao);
+        return produto;
+    }
+}
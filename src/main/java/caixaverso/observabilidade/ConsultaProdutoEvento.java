@@ -0,0 +1,20 @@
+package caixaverso.observabilidade;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("caixaverso.ConsultaProduto")
+@Label("Consulta de produto")
+@Category({"Caixaverso", "Catálogo"})
+@StackTrace(false)
+public class ConsultaProdutoEvento extends Event {
+
+    @Label("Operação")
+    public String operacao;
+
+    @Label("Linhas")
+    public int linhas;
+}
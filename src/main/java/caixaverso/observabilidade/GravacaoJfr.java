@@ -0,0 +1,124 @@
+package caixaverso.observabilidade;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.NotFoundException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@ApplicationScoped
+public class GravacaoJfr {
+
+    private static final DateTimeFormatter FORMATO_ARQUIVO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final boolean habilitada;
+    private final Path diretorio;
+    private final String configuracao;
+
+    private Recording gravacao;
+
+    public GravacaoJfr(@ConfigProperty(name = "diagnostico.jfr.habilitado", defaultValue = "false") boolean habilitada,
+                       @ConfigProperty(name = "diagnostico.jfr.diretorio", defaultValue = "jfr") String diretorio,
+                       @ConfigProperty(name = "diagnostico.jfr.configuracao", defaultValue = "default") String configuracao) {
+        this.habilitada = habilitada;
+        this.diretorio = Path.of(diretorio);
+        this.configuracao = configuracao;
+    }
+
+    public synchronized String iniciar() {
+        verificarHabilitada();
+        if (emAndamento()) {
+            throw new BadRequestException("Já existe uma gravação JFR em andamento.");
+        }
+
+        // Parte das configurações padrão da JVM (baixo overhead) e garante os eventos da aplicação
+        Recording nova = new Recording(carregarConfiguracao());
+        nova.setName("caixaverso");
+        nova.enable(SimulacaoEvento.class);
+        nova.enable(ConsultaProdutoEvento.class);
+        nova.setToDisk(true);
+        nova.start();
+        gravacao = nova;
+        return estado();
+    }
+
+    // Grava um snapshot do que foi registrado até agora sem interromper a gravação
+    public synchronized Path despejar() {
+        verificarHabilitada();
+        verificarEmAndamento();
+        return gravarArquivo(gravacao);
+    }
+
+    public synchronized Path parar() {
+        verificarHabilitada();
+        verificarEmAndamento();
+        try {
+            gravacao.stop();
+            return gravarArquivo(gravacao);
+        } finally {
+            gravacao.close();
+            gravacao = null;
+        }
+    }
+
+    public synchronized String estado() {
+        verificarHabilitada();
+        return gravacao == null ? RecordingState.CLOSED.name() : gravacao.getState().name();
+    }
+
+    @PreDestroy
+    synchronized void encerrar() {
+        if (gravacao != null) {
+            gravacao.close();
+            gravacao = null;
+        }
+    }
+
+    private boolean emAndamento() {
+        return gravacao != null && gravacao.getState() == RecordingState.RUNNING;
+    }
+
+    private void verificarHabilitada() {
+        if (!habilitada) {
+            throw new NotFoundException("Diagnóstico JFR desabilitado.");
+        }
+    }
+
+    private void verificarEmAndamento() {
+        if (!emAndamento()) {
+            throw new BadRequestException("Nenhuma gravação JFR em andamento.");
+        }
+    }
+
+    private Configuration carregarConfiguracao() {
+        try {
+            return Configuration.getConfiguration(configuracao);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Configuração JFR inválida: " + configuracao, e);
+        }
+    }
+
+    private Path gravarArquivo(Recording origem) {
+        try {
+            Files.createDirectories(diretorio);
+            Path arquivo = diretorio.resolve("simulacoes-" + LocalDateTime.now().format(FORMATO_ARQUIVO) + ".jfr").toAbsolutePath();
+            origem.dump(arquivo);
+            return arquivo;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
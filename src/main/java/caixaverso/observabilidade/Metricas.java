@@ -0,0 +1,128 @@
+package caixaverso.observabilidade;
+
+import caixaverso.exception.RegraValidacao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@ApplicationScoped
+public class Metricas {
+
+    public static final String FASE_VALIDACAO = "validacao";
+    public static final String FASE_TAXA = "taxa";
+    public static final String FASE_CALCULO = "calculo";
+    public static final String FASE_MAPEAMENTO = "mapeamento";
+    public static final String FASE_SERIALIZACAO = "serializacao";
+
+    // Poucos buckets fixos mantêm o histograma barato mesmo com uma série por fase, faixa de prazo e produto
+    private static final Duration[] BUCKETS = {
+            Duration.ofNanos(50_000), Duration.ofNanos(100_000), Duration.ofNanos(250_000), Duration.ofNanos(500_000),
+            Duration.ofMillis(1), Duration.ofNanos(2_500_000), Duration.ofMillis(5), Duration.ofMillis(10),
+            Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100)
+    };
+
+    static final String PRODUTO_DESCONHECIDO = "desconhecido";
+    static final String OUTROS_PRODUTOS = "outros";
+
+    private record ChaveFase(String fase, String faixaPrazo, String produto) {}
+
+    private record ChaveFalha(String tipo, RegraValidacao regra) {}
+
+    private final MeterRegistry registry;
+    private final int produtosMaximo;
+
+    // Os medidores são resolvidos uma vez por combinação de tags; o caminho quente só consulta o mapa e registra
+    private final ConcurrentHashMap<ChaveFase, Timer> fases = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> consultas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ChaveFalha, Counter> falhas = new ConcurrentHashMap<>();
+
+    // Tag de cada produto já visto; passado o limite, os produtos novos dividem a tag "outros"
+    private final ConcurrentHashMap<Long, String> produtos = new ConcurrentHashMap<>();
+
+    public Metricas(MeterRegistry registry,
+                    @ConfigProperty(name = "metricas.produtos-maximo", defaultValue = "100") int produtosMaximo) {
+        this.registry = registry;
+        this.produtosMaximo = produtosMaximo;
+    }
+
+    // O ID deve ser de um produto já carregado do banco; IDs informados pelo cliente criariam uma série por valor
+    public void registrarFase(String fase, Integer prazoMeses, Long idProduto, long inicioNanos) {
+        long duracao = System.nanoTime() - inicioNanos;
+        ChaveFase chave = new ChaveFase(fase, faixaPrazo(prazoMeses), tagProduto(idProduto));
+        fases.computeIfAbsent(chave, this::criarTimerFase).record(duracao, TimeUnit.NANOSECONDS);
+    }
+
+    public void registrarConsulta(String operacao, long inicioNanos) {
+        long duracao = System.nanoTime() - inicioNanos;
+        consultas.computeIfAbsent(operacao, this::criarTimerConsulta).record(duracao, TimeUnit.NANOSECONDS);
+    }
+
+    // A mensagem pode trazer dados da requisição, então a série é identificada pelo código fixo da regra violada
+    public void registrarFalhaValidacao(String tipo, RegraValidacao regra) {
+        falhas.computeIfAbsent(new ChaveFalha(tipo, regra == null ? RegraValidacao.OUTROS : regra), this::criarContadorFalha)
+                .increment();
+    }
+
+    // O limite é conferido sem trava; requisições simultâneas podem passar dele por poucas tags
+    String tagProduto(Long idProduto) {
+        if (idProduto == null) {
+            return PRODUTO_DESCONHECIDO;
+        }
+        String tag = produtos.get(idProduto);
+        if (tag != null) {
+            return tag;
+        }
+        return produtos.size() < produtosMaximo ? produtos.computeIfAbsent(idProduto, String::valueOf) : OUTROS_PRODUTOS;
+    }
+
+    static String faixaPrazo(Integer prazoMeses) {
+        if (prazoMeses == null || prazoMeses < 1) {
+            return "invalido";
+        }
+        if (prazoMeses <= 12) {
+            return "1-12";
+        }
+        if (prazoMeses <= 60) {
+            return "13-60";
+        }
+        if (prazoMeses <= 120) {
+            return "61-120";
+        }
+        if (prazoMeses <= 240) {
+            return "121-240";
+        }
+        return prazoMeses <= 360 ? "241-360" : "acima-360";
+    }
+
+    private Timer criarTimerFase(ChaveFase chave) {
+        return Timer.builder("simulacao.fase")
+                .description("Duração de cada fase da simulação")
+                .tag("fase", chave.fase())
+                .tag("faixa_prazo", chave.faixaPrazo())
+                .tag("produto", chave.produto())
+                .serviceLevelObjectives(BUCKETS)
+                .register(registry);
+    }
+
+    private Timer criarTimerConsulta(String operacao) {
+        return Timer.builder("produto.dao.consulta")
+                .description("Duração das operações do ProdutoDao")
+                .tag("operacao", operacao)
+                .serviceLevelObjectives(BUCKETS)
+                .register(registry);
+    }
+
+    private Counter criarContadorFalha(ChaveFalha chave) {
+        return Counter.builder("simulacao.validacao.falhas")
+                .description("Requisições rejeitadas pelos mapeadores de exceção")
+                .tag("tipo", chave.tipo())
+                .tag("regra", chave.regra().codigo())
+                .register(registry);
+    }
+}
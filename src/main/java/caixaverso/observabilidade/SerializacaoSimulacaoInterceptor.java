@@ -0,0 +1,44 @@
+package caixaverso.observabilidade;
+
+import caixaverso.dto.SimulacaoCompactaResponse;
+import caixaverso.dto.SimulacaoResponse;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.IOException;
+
+// Mede a escrita do JSON das simulações, a última fase antes da resposta sair
+@Provider
+public class SerializacaoSimulacaoInterceptor implements WriterInterceptor {
+
+    private final Metricas metricas;
+
+    public SerializacaoSimulacaoInterceptor(Metricas metricas) {
+        this.metricas = metricas;
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+        Integer prazoMeses;
+        Long idProduto;
+        if (context.getEntity() instanceof SimulacaoResponse simulacao) {
+            prazoMeses = simulacao.prazoMeses();
+            idProduto = simulacao.produto() == null ? null : simulacao.produto().getId();
+        } else if (context.getEntity() instanceof SimulacaoCompactaResponse simulacao) {
+            prazoMeses = simulacao.prazoMeses();
+            idProduto = simulacao.idProduto();
+        } else {
+            context.proceed();
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            context.proceed();
+        } finally {
+            metricas.registrarFase(Metricas.FASE_SERIALIZACAO, prazoMeses, idProduto, inicio);
+        }
+    }
+}
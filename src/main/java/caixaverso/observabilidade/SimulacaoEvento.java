@@ -0,0 +1,36 @@
+package caixaverso.observabilidade;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("caixaverso.Simulacao")
+@Label("Simulação")
+@Description("Simulação calculada pelo SimulacaoService; acertos do cache de simulações não geram evento")
+@Category({"Caixaverso", "Simulação"})
+@StackTrace(false)
+public class SimulacaoEvento extends Event {
+
+    @Label("ID do produto")
+    public long idProduto;
+
+    @Label("Prazo em meses")
+    public int prazoMeses;
+
+    @Label("Valor solicitado")
+    public double valorSolicitado;
+
+    @Label("Somente resumo")
+    public boolean resumo;
+
+    @Label("Tempo da calculadora")
+    @Timespan(Timespan.NANOSECONDS)
+    public long duracaoCalculo;
+
+    @Label("Parcelas na memória de cálculo")
+    public int parcelas;
+}
@@ -0,0 +1,128 @@
+package caixaverso.service;
+
+import caixaverso.dto.FiltroProdutos;
+import caixaverso.dto.PaginaProdutos;
+import caixaverso.dto.RespostaJson;
+import caixaverso.model.ProdutoAlterado;
+import caixaverso.model.ProdutoEmprestimo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@ApplicationScoped
+public class ProdutoJsonCache {
+
+    private static final int BYTES_ETAG = 16;
+
+    private final ObjectMapper objectMapper;
+    private final boolean habilitado;
+
+    private final ConcurrentHashMap<Long, RespostaJson> produtos = new ConcurrentHashMap<>();
+    private final Map<FiltroProdutos, RespostaJson> listagens;
+    private final AtomicLong geracao = new AtomicLong();
+
+    public ProdutoJsonCache(ObjectMapper objectMapper,
+                            @ConfigProperty(name = "produto.json-cache.habilitado", defaultValue = "true") boolean habilitado,
+                            @ConfigProperty(name = "produto.json-cache.listagens-maximo", defaultValue = "1000") int listagensMaximo) {
+        this.objectMapper = objectMapper;
+        this.habilitado = habilitado;
+        // Cada combinação de cursor, limite e filtros é uma entrada; as usadas há mais tempo saem ao atingir o limite
+        this.listagens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<FiltroProdutos, RespostaJson> maisAntiga) {
+                return size() > listagensMaximo;
+            }
+        };
+    }
+
+    public RespostaJson produto(Long id, Supplier<ProdutoEmprestimo> carga) {
+        RespostaJson cacheado = habilitado ? produtos.get(id) : null;
+        if (cacheado != null) {
+            return cacheado;
+        }
+
+        long geracaoInicial = geracao.get();
+        RespostaJson carregado = serializar(carga.get(), null);
+        if (habilitado) {
+            produtos.putIfAbsent(id, carregado);
+            // Uma invalidação concorrente com a carga pode ter visto o valor antigo; nesse caso a entrada é descartada
+            if (geracao.get() != geracaoInicial) {
+                produtos.remove(id, carregado);
+            }
+        }
+        return carregado;
+    }
+
+    public RespostaJson listagem(FiltroProdutos filtro, Supplier<PaginaProdutos> carga) {
+        if (habilitado) {
+            RespostaJson cacheado;
+            synchronized (listagens) {
+                cacheado = listagens.get(filtro);
+            }
+            if (cacheado != null) {
+                return cacheado;
+            }
+        }
+
+        long geracaoInicial = geracao.get();
+        PaginaProdutos pagina = carga.get();
+        RespostaJson carregado = serializar(pagina.produtos(), pagina.proximoCursor());
+        if (habilitado) {
+            synchronized (listagens) {
+                if (geracao.get() == geracaoInicial) {
+                    listagens.putIfAbsent(filtro, carregado);
+                }
+            }
+        }
+        return carregado;
+    }
+
+    // Qualquer alteração pode mudar o conteúdo de uma página, então todas as listagens são descartadas
+    public void invalidar(Long id) {
+        geracao.incrementAndGet();
+        produtos.remove(id);
+        invalidarListagens();
+    }
+
+    public void invalidarListagens() {
+        geracao.incrementAndGet();
+        synchronized (listagens) {
+            listagens.clear();
+        }
+    }
+
+    void aoAlterarProduto(@Observes(during = TransactionPhase.AFTER_SUCCESS) ProdutoAlterado evento) {
+        invalidar(evento.id());
+    }
+
+    private RespostaJson serializar(Object valor, Long proximoCursor) {
+        try {
+            byte[] corpo = objectMapper.writeValueAsBytes(valor);
+            return new RespostaJson(corpo, etag(corpo), proximoCursor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar o catálogo de produtos.", e);
+        }
+    }
+
+    private static String etag(byte[] corpo) {
+        try {
+            byte[] resumo = MessageDigest.getInstance("SHA-256").digest(corpo);
+            return HexFormat.of().formatHex(Arrays.copyOf(resumo, BYTES_ETAG));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível.", e);
+        }
+    }
+}
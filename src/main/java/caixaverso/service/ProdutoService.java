@@ -1,28 +1,92 @@
 package caixaverso.service;
 
 import caixaverso.dao.ProdutoDao;
+import caixaverso.dao.ProdutoCache;
+import caixaverso.dto.ErroImportacao;
+import caixaverso.dto.EstatisticasCacheResponse;
+import caixaverso.dto.FiltroProdutos;
+import caixaverso.dto.ImportacaoProdutosResponse;
+import caixaverso.dto.LinhaImportacao;
+import caixaverso.dto.PaginaProdutos;
 import caixaverso.dto.ProdutoRequest;
+import caixaverso.dto.RespostaJson;
+import caixaverso.financeiro.TaxaJuros;
+import caixaverso.model.ProdutoAlterado;
 import caixaverso.model.ProdutoEmprestimo;
+import caixaverso.util.LeitorCsvProdutos;
 import caixaverso.validator.ProdutoValidator;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 @ApplicationScoped
 public class ProdutoService {
 
+    private static final Logger LOG = Logger.getLogger(ProdutoService.class);
+
+    static final String MENSAGEM_FALHA_GRAVACAO = "Não foi possível gravar este produto.";
+    static final String MENSAGEM_PRODUTO_DUPLICADO = "Não foi possível gravar este produto: já existe um produto com estes dados.";
+    static final String MENSAGEM_CAMPO_OBRIGATORIO = "Não foi possível gravar este produto: um campo obrigatório não foi informado.";
+    static final String MENSAGEM_VALOR_FORA_DO_LIMITE =
+            "Não foi possível gravar este produto: um dos valores excede o tamanho ou a precisão aceitos.";
+
     private final ProdutoValidator produtoValidator;
     private final ProdutoDao produtoDao;
+    private final ProdutoCache produtoCache;
+    private final ProdutoJsonCache produtoJsonCache;
+    private final Event<ProdutoAlterado> produtoAlterado;
+    private final int limitePadrao;
+    private final int limiteMaximo;
+    private final int tamanhoLoteImportacao;
+    private final int tamanhoMaximoImportacao;
 
-    public ProdutoService(ProdutoValidator produtoValidator, ProdutoDao produtoDao) {
+    public ProdutoService(ProdutoValidator produtoValidator, ProdutoDao produtoDao, ProdutoCache produtoCache,
+                          ProdutoJsonCache produtoJsonCache, Event<ProdutoAlterado> produtoAlterado,
+                          @ConfigProperty(name = "produto.listagem.limite-padrao", defaultValue = "100") int limitePadrao,
+                          @ConfigProperty(name = "produto.listagem.limite-maximo", defaultValue = "500") int limiteMaximo,
+                          @ConfigProperty(name = "produto.importacao.tamanho-lote", defaultValue = "500") int tamanhoLoteImportacao,
+                          @ConfigProperty(name = "produto.importacao.tamanho-maximo", defaultValue = "100000") int tamanhoMaximoImportacao) {
         this.produtoValidator = produtoValidator;
         this.produtoDao = produtoDao;
+        this.produtoCache = produtoCache;
+        this.produtoJsonCache = produtoJsonCache;
+        this.produtoAlterado = produtoAlterado;
+        this.limitePadrao = limitePadrao;
+        this.limiteMaximo = limiteMaximo;
+        this.tamanhoLoteImportacao = tamanhoLoteImportacao;
+        this.tamanhoMaximoImportacao = tamanhoMaximoImportacao;
+    }
 
+    // O limite padrão entra na chave para que "sem limite" e "limite=100" compartilhem a mesma entrada do cache
+    public RespostaJson listarProdutosJson(FiltroProdutos filtro) {
+        FiltroProdutos chave = new FiltroProdutos(filtro.apos(), limiteEfetivo(filtro), filtro.taxaMinima(),
+                filtro.taxaMaxima(), filtro.prazoMeses(), filtro.nome());
+        return produtoJsonCache.listagem(chave, () -> listarProdutos(chave));
     }
 
-    public List<ProdutoEmprestimo> listarProdutos() {
-        return produtoDao.listarProdutos();
+    public RespostaJson listarPorIdJson(Long id) {
+        return produtoJsonCache.produto(id, () -> listarPorId(id));
+    }
+
+    public PaginaProdutos listarProdutos(FiltroProdutos filtro) {
+        int limite = limiteEfetivo(filtro);
+        produtoValidator.validateFiltro(filtro, limite, limiteMaximo);
+
+        // Um registro a mais indica se existe página seguinte sem precisar de um COUNT
+        List<ProdutoEmprestimo> produtos = produtoDao.listarProdutos(filtro, limite + 1);
+        if (produtos.size() <= limite) {
+            return new PaginaProdutos(produtos, null);
+        }
+        List<ProdutoEmprestimo> pagina = produtos.subList(0, limite);
+        return new PaginaProdutos(pagina, pagina.get(limite - 1).getId());
     }
 
     public ProdutoEmprestimo listarPorId(Long id) {
@@ -35,11 +99,9 @@ public class ProdutoService {
 
     public ProdutoEmprestimo cadastrar(ProdutoRequest request) {
         produtoValidator.validate(request);
-        ProdutoEmprestimo produto = new ProdutoEmprestimo();
-        produto.setNome(request.nome());
-        produto.setTaxaJurosAnual(request.taxaJurosAnual());
-        produto.setPrazoMaximoMeses(request.prazoMaximoMeses());
-        return produtoDao.cadastrar(produto);
+        ProdutoEmprestimo cadastrado = produtoDao.cadastrar(criarProduto(request));
+        produtoAlterado.fire(new ProdutoAlterado(cadastrado.getId()));
+        return cadastrado;
     }
 
     public ProdutoEmprestimo atualizar(Long id, ProdutoRequest request) {
@@ -51,7 +113,10 @@ public class ProdutoService {
         existente.setNome(request.nome());
         existente.setTaxaJurosAnual(request.taxaJurosAnual());
         existente.setPrazoMaximoMeses(request.prazoMaximoMeses());
-        return produtoDao.atualizar(existente);
+        existente.setTaxaJurosMensal(TaxaJuros.calcularTaxaMensalEquivalente(request.taxaJurosAnual()));
+        ProdutoEmprestimo atualizado = produtoDao.atualizar(existente);
+        produtoAlterado.fire(new ProdutoAlterado(id));
+        return atualizado;
     }
 
     public void deletar(Long id) {
@@ -60,5 +125,134 @@ public class ProdutoService {
             throw new NotFoundException("Produto não encontrado");
         }
         produtoDao.deletar(existente);
+        produtoAlterado.fire(new ProdutoAlterado(id));
+    }
+
+    public ImportacaoProdutosResponse importar(List<ProdutoRequest> requests) {
+        if (requests == null) {
+            return importarLinhas(List.of());
+        }
+        List<LinhaImportacao> linhas = new ArrayList<>(requests.size());
+        for (int indice = 0; indice < requests.size(); indice++) {
+            linhas.add(new LinhaImportacao(indice + 1, requests.get(indice), null));
+        }
+        return importarLinhas(linhas);
+    }
+
+    public ImportacaoProdutosResponse importarCsv(String conteudo) {
+        return importarLinhas(LeitorCsvProdutos.ler(conteudo));
+    }
+
+    // Cada lote é gravado em uma transação própria: uma falha de banco descarta só o lote, não a importação inteira,
+    // e as linhas dele são regravadas uma a uma.
+    // Produtos novos não precisam de ProdutoAlterado, pois os caches por ID só guardam produtos já lidos; as
+    // listagens serializadas, porém, passam a estar desatualizadas.
+    private ImportacaoProdutosResponse importarLinhas(List<LinhaImportacao> linhas) {
+        if (linhas.isEmpty()) {
+            throw new BadRequestException("A importação deve conter ao menos um produto.");
+        }
+        if (linhas.size() > tamanhoMaximoImportacao) {
+            throw new BadRequestException(String.format("A importação deve conter no máximo %d produtos.", tamanhoMaximoImportacao));
+        }
+
+        List<ErroImportacao> erros = new ArrayList<>();
+        List<LinhaImportacao> lote = new ArrayList<>(tamanhoLoteImportacao);
+        int importados = 0;
+
+        for (LinhaImportacao linha : linhas) {
+            String erro = validarLinha(linha);
+            if (erro != null) {
+                erros.add(new ErroImportacao(linha.linha(), erro));
+                continue;
+            }
+            lote.add(linha);
+            if (lote.size() == tamanhoLoteImportacao) {
+                importados += gravarLote(lote, erros);
+            }
+        }
+        if (!lote.isEmpty()) {
+            importados += gravarLote(lote, erros);
+        }
+
+        if (importados > 0) {
+            produtoJsonCache.invalidarListagens();
+        }
+        erros.sort((primeiro, segundo) -> Integer.compare(primeiro.linha(), segundo.linha()));
+        return new ImportacaoProdutosResponse(linhas.size(), importados, erros);
+    }
+
+    private String validarLinha(LinhaImportacao linha) {
+        if (linha.erro() != null) {
+            return linha.erro();
+        }
+        if (linha.produto() == null) {
+            return "Os dados do produto são obrigatórios.";
+        }
+        try {
+            produtoValidator.validate(linha.produto());
+            return null;
+        } catch (BadRequestException e) {
+            return e.getMessage();
+        }
+    }
+
+    // Se o lote falhar, cada linha é regravada em sua própria transação: só as que falharem de novo são rejeitadas.
+    // Os produtos são recriados, pois a tentativa descartada pode já ter atribuído IDs.
+    private int gravarLote(List<LinhaImportacao> lote, List<ErroImportacao> erros) {
+        List<ProdutoEmprestimo> produtos = lote.stream().map(linha -> criarProduto(linha.produto())).toList();
+        int gravados = lote.size();
+        try {
+            QuarkusTransaction.requiringNew().run(() -> produtoDao.cadastrarLote(produtos));
+        } catch (RuntimeException e) {
+            gravados = 0;
+            for (LinhaImportacao linha : lote) {
+                ProdutoEmprestimo produto = criarProduto(linha.produto());
+                try {
+                    QuarkusTransaction.requiringNew().run(() -> produtoDao.cadastrarLote(List.of(produto)));
+                    gravados++;
+                } catch (RuntimeException falha) {
+                    LOG.warnf(falha, "Falha ao gravar a linha %d da importação de produtos.", linha.linha());
+                    erros.add(new ErroImportacao(linha.linha(), mensagemFalha(falha)));
+                }
+            }
+        }
+        lote.clear();
+        return gravados;
+    }
+
+    // A mensagem do banco traz SQL, tabela e colunas e fica só no log; o cliente recebe uma mensagem fixa pelo SQLState
+    static String mensagemFalha(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause() == causa ? null : causa.getCause()) {
+            if (causa instanceof SQLException sql && sql.getSQLState() != null) {
+                String estado = sql.getSQLState();
+                if (estado.equals("23505")) {
+                    return MENSAGEM_PRODUTO_DUPLICADO;
+                }
+                if (estado.equals("23502")) {
+                    return MENSAGEM_CAMPO_OBRIGATORIO;
+                }
+                if (estado.startsWith("22")) {
+                    return MENSAGEM_VALOR_FORA_DO_LIMITE;
+                }
+            }
+        }
+        return MENSAGEM_FALHA_GRAVACAO;
+    }
+
+    private int limiteEfetivo(FiltroProdutos filtro) {
+        return filtro.limite() == null ? limitePadrao : filtro.limite();
+    }
+
+    private static ProdutoEmprestimo criarProduto(ProdutoRequest request) {
+        ProdutoEmprestimo produto = new ProdutoEmprestimo();
+        produto.setNome(request.nome());
+        produto.setTaxaJurosAnual(request.taxaJurosAnual());
+        produto.setPrazoMaximoMeses(request.prazoMaximoMeses());
+        produto.setTaxaJurosMensal(TaxaJuros.calcularTaxaMensalEquivalente(request.taxaJurosAnual()));
+        return produto;
+    }
+
+    public EstatisticasCacheResponse estatisticasCache() {
+        return produtoCache.estatisticas();
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package caixaverso.service;
+
+import caixaverso.dto.EstatisticasCacheResponse;
+import caixaverso.dto.SimulacaoResponse;
+import caixaverso.model.ProdutoAlterado;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@ApplicationScoped
+public class SimulacaoCache {
+
+    record Chave(Long idProduto, Long versaoProduto, Long valorSolicitadoCentavos, Integer prazoMeses, boolean resumo) {}
+
+    private final boolean habilitado;
+    private final Map<Chave, CompletableFuture<SimulacaoResponse>> simulacoes;
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    public SimulacaoCache(@ConfigProperty(name = "simulacao.cache.habilitado", defaultValue = "true") boolean habilitado,
+                          @ConfigProperty(name = "simulacao.cache.tamanho-maximo", defaultValue = "10000") int tamanhoMaximo) {
+        this.habilitado = habilitado;
+        // LinkedHashMap em ordem de acesso: a entrada usada há mais tempo é descartada ao atingir o limite
+        this.simulacoes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Chave, CompletableFuture<SimulacaoResponse>> maisAntiga) {
+                if (size() > tamanhoMaximo) {
+                    remocoes.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // O futuro é registrado antes do cálculo, então requisições simultâneas para a mesma chave aguardam um único cálculo.
+    // Limitação conhecida: o LinkedHashMap em ordem de acesso é alterado até por um acerto, então toda leitura passa pelo
+    // mesmo lock global; o cálculo e a espera ficam fora dele
+    public SimulacaoResponse obter(Chave chave, Supplier<SimulacaoResponse> calculo) {
+        if (!habilitado) {
+            return calculo.get();
+        }
+
+        CompletableFuture<SimulacaoResponse> novo = new CompletableFuture<>();
+        CompletableFuture<SimulacaoResponse> existente;
+        synchronized (simulacoes) {
+            existente = simulacoes.putIfAbsent(chave, novo);
+        }
+        if (existente != null) {
+            acertos.increment();
+            return aguardar(existente);
+        }
+        falhas.increment();
+
+        try {
+            SimulacaoResponse response = calculo.get();
+            novo.complete(response);
+            return response;
+        } catch (Throwable e) {
+            // Falhas não ficam no cache: quem já aguardava recebe o erro, a próxima requisição recalcula. Errors também
+            // concluem o futuro; do contrário, toda requisição seguinte para a chave ficaria bloqueada no join()
+            synchronized (simulacoes) {
+                simulacoes.remove(chave, novo);
+            }
+            novo.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidar(Long idProduto) {
+        synchronized (simulacoes) {
+            simulacoes.keySet().removeIf(chave -> chave.idProduto().equals(idProduto));
+        }
+    }
+
+    void aoAlterarProduto(@Observes(during = TransactionPhase.AFTER_SUCCESS) ProdutoAlterado evento) {
+        invalidar(evento.id());
+    }
+
+    public EstatisticasCacheResponse estatisticas() {
+        int tamanho;
+        synchronized (simulacoes) {
+            tamanho = simulacoes.size();
+        }
+        return new EstatisticasCacheResponse(acertos.sum(), falhas.sum(), remocoes.sum(), tamanho);
+    }
+
+    private static SimulacaoResponse aguardar(CompletableFuture<SimulacaoResponse> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+}
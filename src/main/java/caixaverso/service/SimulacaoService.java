@@ -1,63 +1,420 @@
 package caixaverso.service;
 
+import caixaverso.dao.ProdutoDao;
+import caixaverso.dto.ComparacaoResponse;
+import caixaverso.dto.ErroResponse;
+import caixaverso.dto.EstatisticasCacheResponse;
+import caixaverso.dto.GradeSimulacaoRequest;
+import caixaverso.dto.GradeSimulacaoResponse;
+import caixaverso.dto.GradeSimulacaoResponse.CelulaGrade;
+import caixaverso.dto.GradeSimulacaoResponse.LinhaGrade;
+import caixaverso.dto.SimulacaoCompactaResponse;
+import caixaverso.dto.SimulacaoCompactaResponse.MemoriaCalculoCompacta;
+import caixaverso.dto.SimulacaoLoteItem;
+import caixaverso.dto.SimulacaoLoteResponse;
 import caixaverso.dto.SimulacaoRequest;
 import caixaverso.dto.SimulacaoResponse;
 import caixaverso.dto.SimulacaoResponse.ParcelaDetalhe;
-import caixaverso.financeiro.CalculadoraEmprestimoPrice;
+import caixaverso.exception.RegraValidacao;
+import caixaverso.exception.ValidacaoException;
+import caixaverso.financeiro.CalculadoraEmprestimo;
+import caixaverso.financeiro.FatorAnuidade;
 import caixaverso.financeiro.ParcelaAmortizacao;
 import caixaverso.financeiro.ResultadoCalculoEmprestimo;
+import caixaverso.financeiro.TaxaJuros;
 import caixaverso.model.ProdutoEmprestimo;
+import caixaverso.observabilidade.Metricas;
+import caixaverso.observabilidade.SimulacaoEvento;
+import caixaverso.util.ExecutorSimulacoes;
 import caixaverso.validator.SimulacaoValidator;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 @ApplicationScoped
 public class SimulacaoService {
 
+    public static final String ORDENACAO_PARCELA = "parcela";
+    public static final String ORDENACAO_TOTAL = "total";
+
+    // Produtos simulados por tarefa na comparação; partes pequenas demais gastariam mais com agendamento que com cálculo
+    private static final int PRODUTOS_POR_TAREFA = 256;
+
+    private record Candidato(ProdutoEmprestimo produto, BigDecimal taxaMensal, ResultadoCalculoEmprestimo resultado) {}
+
+    private static final Comparator<Candidato> POR_PARCELA = Comparator
+            .comparing((Candidato candidato) -> candidato.resultado().valorParcela())
+            .thenComparing(candidato -> candidato.resultado().valorTotal())
+            .thenComparing(candidato -> candidato.produto().getId());
+
+    private static final Comparator<Candidato> POR_TOTAL = Comparator
+            .comparing((Candidato candidato) -> candidato.resultado().valorTotal())
+            .thenComparing(candidato -> candidato.resultado().valorParcela())
+            .thenComparing(candidato -> candidato.produto().getId());
+
     private final SimulacaoValidator simulacaoValidator;
-    private final CalculadoraEmprestimoPrice calculadora;
+    private final CalculadoraEmprestimo calculadora;
+    private final ExecutorSimulacoes executorSimulacoes;
+    private final SimulacaoCache simulacaoCache;
+    private final ProdutoDao produtoDao;
+    private final Metricas metricas;
+    private final int tamanhoMaximoLote;
+    private final int topMaximoComparacao;
+    private final int celulasMaximoGrade;
+    private final int parcelasMaximoGrade;
 
-    public SimulacaoService(SimulacaoValidator simulacaoValidator, CalculadoraEmprestimoPrice calculadora) {
+    public SimulacaoService(SimulacaoValidator simulacaoValidator,
+                            CalculadoraEmprestimo calculadora,
+                            ExecutorSimulacoes executorSimulacoes,
+                            SimulacaoCache simulacaoCache,
+                            ProdutoDao produtoDao,
+                            Metricas metricas,
+                            @ConfigProperty(name = "simulacao.lote.tamanho-maximo", defaultValue = "1000") int tamanhoMaximoLote,
+                            @ConfigProperty(name = "simulacao.comparacao.top-maximo", defaultValue = "50") int topMaximoComparacao,
+                            @ConfigProperty(name = "simulacao.grade.celulas-maximo", defaultValue = "5000") int celulasMaximoGrade,
+                            @ConfigProperty(name = "simulacao.grade.parcelas-maximo", defaultValue = "100000") int parcelasMaximoGrade) {
         this.simulacaoValidator = simulacaoValidator;
         this.calculadora = calculadora;
+        this.executorSimulacoes = executorSimulacoes;
+        this.simulacaoCache = simulacaoCache;
+        this.produtoDao = produtoDao;
+        this.metricas = metricas;
+        this.tamanhoMaximoLote = tamanhoMaximoLote;
+        this.topMaximoComparacao = topMaximoComparacao;
+        this.celulasMaximoGrade = celulasMaximoGrade;
+        this.parcelasMaximoGrade = parcelasMaximoGrade;
     }
 
     public SimulacaoResponse simular(SimulacaoRequest request) {
 
-        ProdutoEmprestimo produto = simulacaoValidator.validateAndGetProduto(request);
+        ProdutoEmprestimo produto = validarProduto(request);
 
-        BigDecimal taxaMensal = calcularTaxaMensalEquivalente(produto.getTaxaJurosAnual());
-        BigDecimal valorSolicitado = BigDecimal.valueOf(request.valorSolicitado());
+        return simular(produto, request, false);
+    }
 
-        ResultadoCalculoEmprestimo resultadoCalculo = calculadora.calcular(
-                valorSolicitado,
-                taxaMensal,
-                request.prazoMeses()
-        );
+    // Retorna apenas a parcela e o valor total, sem a memória de cálculo
+    public SimulacaoResponse simularResumo(SimulacaoRequest request) {
 
-        return construirResponse(produto, request, taxaMensal, resultadoCalculo);
+        ProdutoEmprestimo produto = validarProduto(request);
+
+        return simular(produto, request, true);
     }
 
-    private BigDecimal calcularTaxaMensalEquivalente(BigDecimal taxaAnual) {
+    // Preenche as colunas em centavos direto das parcelas calculadas, sem passar pelos textos da resposta completa
+    public SimulacaoCompactaResponse simularCompacta(SimulacaoRequest request, boolean resumo) {
+
+        ProdutoEmprestimo produto = validarProduto(request);
+        BigDecimal taxaMensal = taxaMensal(produto);
+        long valorCentavos = request.valorSolicitadoCentavos();
+        int prazoMeses = request.prazoMeses();
 
-        BigDecimal taxaAnualDecimal = taxaAnual.divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP);
-        double base = BigDecimal.ONE.add(taxaAnualDecimal).doubleValue();
-        double expoente = 1.0 / 12.0;
-        double taxaMensalDouble = Math.pow(base, expoente) - 1;
-        return BigDecimal.valueOf(taxaMensalDouble).setScale(10, RoundingMode.HALF_UP);
+        long inicio = System.nanoTime();
+        ResultadoCalculoEmprestimo resultado;
+        MemoriaCalculoCompacta memoria = null;
+        if (resumo) {
+            resultado = calculadora.calcularResumoCentavos(valorCentavos, taxaMensal, prazoMeses);
+        } else {
+            long[] amortizacao = new long[prazoMeses];
+            long[] juros = new long[prazoMeses];
+            long[] saldoDevedor = new long[prazoMeses];
+            resultado = calculadora.percorrerParcelasCentavos(valorCentavos, taxaMensal, prazoMeses,
+                    (numero, amortizacaoDoMes, jurosDoMes, saldoDoMes) -> {
+                        amortizacao[numero - 1] = amortizacaoDoMes;
+                        juros[numero - 1] = jurosDoMes;
+                        saldoDevedor[numero - 1] = saldoDoMes;
+                    });
+            memoria = new MemoriaCalculoCompacta(amortizacao, juros, saldoDevedor);
+        }
+        metricas.registrarFase(Metricas.FASE_CALCULO, prazoMeses, produto.getId(), inicio);
+
+        return new SimulacaoCompactaResponse(
+                produto.getId(),
+                prazoMeses,
+                format(produto.getTaxaJurosAnual()),
+                taxaMensal.setScale(6, RoundingMode.HALF_UP).toPlainString(),
+                valorCentavos,
+                centavos(resultado.valorTotal()),
+                centavos(resultado.valorParcela()),
+                memoria);
+    }
+
+    public ProdutoEmprestimo validar(SimulacaoRequest request) {
+        return validarProduto(request);
+    }
+
+    // Entrega a memória de cálculo parcela a parcela para um produto já validado, sem acumulá-la em memória
+    public void simularParcelas(ProdutoEmprestimo produto, SimulacaoRequest request, Consumer<ParcelaDetalhe> destino) {
+        BigDecimal taxaMensal = taxaMensal(produto);
+        calculadora.percorrerParcelasCentavos(request.valorSolicitadoCentavos(), taxaMensal, request.prazoMeses(),
+                (numero, amortizacao, juros, saldoDevedor) -> destino.accept(new ParcelaDetalhe(numero, amortizacao, juros, saldoDevedor)));
     }
 
-    private SimulacaoResponse construirResponse(ProdutoEmprestimo produto, SimulacaoRequest request, BigDecimal taxaMensal, ResultadoCalculoEmprestimo resultadoCalculo) {
-        List<ParcelaDetalhe> memoriaResponse = resultadoCalculo.memoriaCalculo().stream()
-                .map(this::mapearParaParcelaDetalhe)
+    // Calcula uma única parcela da memória de cálculo sem gerar as demais
+    public ParcelaDetalhe simularParcela(SimulacaoRequest request, Integer mes) {
+
+        ProdutoEmprestimo produto = validarProduto(request);
+        simulacaoValidator.validateMes(request, mes);
+
+        BigDecimal taxaMensal = taxaMensal(produto);
+        return mapearParaParcelaDetalhe(
+                calculadora.calcularParcela(valorSolicitado(request), taxaMensal, request.prazoMeses(), mes));
+    }
+
+    public List<SimulacaoLoteResponse> simularLote(List<SimulacaoLoteItem> itens, boolean resumo) {
+        if (itens == null || itens.isEmpty()) {
+            throw new ValidacaoException(RegraValidacao.LOTE_TAMANHO_INVALIDO, "O lote deve conter ao menos uma simulação.");
+        }
+        if (itens.size() > tamanhoMaximoLote) {
+            throw new ValidacaoException(RegraValidacao.LOTE_TAMANHO_INVALIDO,
+                    String.format("O lote deve conter no máximo %d simulações.", tamanhoMaximoLote));
+        }
+
+        // Validação e carga dos produtos ficam no thread da requisição; só o cálculo vai para o executor
+        Map<Long, ProdutoEmprestimo> produtosCarregados = new HashMap<>();
+        List<CompletableFuture<SimulacaoLoteResponse>> resultados = new ArrayList<>(itens.size());
+
+        for (int indice = 0; indice < itens.size(); indice++) {
+            SimulacaoLoteItem item = itens.get(indice);
+            int posicao = indice;
+            // O valor solicitado inválido já foi recusado na leitura do corpo, só deste item
+            if (item != null && item.erroLeitura() != null) {
+                metricas.registrarFalhaValidacao("Erro de validação", item.regraErroLeitura());
+                resultados.add(CompletableFuture.completedFuture(
+                        new SimulacaoLoteResponse(posicao, null, new ErroResponse("Erro de validação", item.erroLeitura()))));
+                continue;
+            }
+            SimulacaoRequest request = item == null ? null : item.request();
+            // Os itens não passam pelos mapeadores de exceção, então a fase e as falhas são registradas aqui
+            long inicio = System.nanoTime();
+            ProdutoEmprestimo produto = null;
+            try {
+                produto = simulacaoValidator.validateAndGetProduto(request, produtosCarregados);
+            } catch (IllegalArgumentException e) {
+                metricas.registrarFalhaValidacao("Erro de validação", RegraValidacao.de(e));
+                resultados.add(CompletableFuture.completedFuture(
+                        new SimulacaoLoteResponse(posicao, null, new ErroResponse("Erro de validação", e.getMessage()))));
+            } finally {
+                metricas.registrarFase(Metricas.FASE_VALIDACAO, request == null ? null : request.prazoMeses(),
+                        produto == null ? null : produto.getId(), inicio);
+            }
+            if (produto != null) {
+                ProdutoEmprestimo validado = produto;
+                resultados.add(executorSimulacoes.executar(() -> simularItemLote(posicao, validado, request, resumo)));
+            }
+        }
+
+        return resultados.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    private SimulacaoLoteResponse simularItemLote(int indice, ProdutoEmprestimo produto, SimulacaoRequest request, boolean resumo) {
+        try {
+            return new SimulacaoLoteResponse(indice, simular(produto, request, resumo), null);
+        } catch (RuntimeException e) {
+            return new SimulacaoLoteResponse(indice, null, new ErroResponse("Erro de cálculo", e.getMessage()));
+        }
+    }
+
+    // Classifica todos os produtos elegíveis só com parcela e total; a memória de cálculo é montada apenas para os
+    // top primeiros. Sem top, todos os produtos voltam classificados e resumidos.
+    public ComparacaoResponse comparar(SimulacaoRequest request, String ordenacao, Integer top) {
+        simulacaoValidator.validateComparacao(request);
+        String criterio = ordenacao == null ? ORDENACAO_PARCELA : ordenacao;
+        if (!ORDENACAO_PARCELA.equals(criterio) && !ORDENACAO_TOTAL.equals(criterio)) {
+            throw new ValidacaoException(RegraValidacao.COMPARACAO_PARAMETRO_INVALIDO, "A ordenação deve ser 'parcela' ou 'total'.");
+        }
+        if (top != null && (top < 1 || top > topMaximoComparacao)) {
+            throw new ValidacaoException(RegraValidacao.COMPARACAO_PARAMETRO_INVALIDO,
+                    String.format("O top deve estar entre 1 e %d produtos.", topMaximoComparacao));
+        }
+
+        Comparator<Candidato> comparador = ORDENACAO_TOTAL.equals(criterio) ? POR_TOTAL : POR_PARCELA;
+        List<ProdutoEmprestimo> elegiveis = produtoDao.listarElegiveis(request.prazoMeses());
+        int limite = top == null ? elegiveis.size() : top;
+
+        List<CompletableFuture<List<Candidato>>> partes = new ArrayList<>();
+        for (int inicio = 0; inicio < elegiveis.size(); inicio += PRODUTOS_POR_TAREFA) {
+            List<ProdutoEmprestimo> parte = elegiveis.subList(inicio, Math.min(inicio + PRODUTOS_POR_TAREFA, elegiveis.size()));
+            partes.add(executorSimulacoes.executar(() -> classificar(parte, request, comparador, limite)));
+        }
+        List<Candidato> ranking = partes.stream()
+                .flatMap(parte -> parte.join().stream())
+                .sorted(comparador)
+                .limit(limite)
                 .toList();
 
+        List<SimulacaoResponse> simulacoes;
+        if (top == null) {
+            simulacoes = ranking.stream()
+                    .map(candidato -> construirResponse(candidato.produto(), request, candidato.taxaMensal(), candidato.resultado(), null))
+                    .toList();
+        } else {
+            List<CompletableFuture<SimulacaoResponse>> completas = ranking.stream()
+                    .map(candidato -> executorSimulacoes.executar(() -> simular(candidato.produto(), request, false)))
+                    .toList();
+            simulacoes = completas.stream()
+                    .map(CompletableFuture::join)
+                    .toList();
+        }
+
+        return new ComparacaoResponse(format(valorSolicitado(request)), request.prazoMeses(),
+                criterio, elegiveis.size(), simulacoes);
+    }
+
+    // Cada parte devolve só os seus melhores candidatos, então a junção final ordena no máximo top por tarefa
+    private List<Candidato> classificar(List<ProdutoEmprestimo> produtos, SimulacaoRequest request,
+                                        Comparator<Candidato> comparador, int limite) {
+        BigDecimal valorSolicitado = valorSolicitado(request);
+        List<Candidato> candidatos = new ArrayList<>(produtos.size());
+        for (ProdutoEmprestimo produto : produtos) {
+            BigDecimal taxaMensal = taxaMensal(produto);
+            candidatos.add(new Candidato(produto, taxaMensal,
+                    calculadora.calcularResumo(valorSolicitado, taxaMensal, request.prazoMeses())));
+        }
+        candidatos.sort(comparador);
+        return candidatos.size() > limite ? candidatos.subList(0, limite) : candidatos;
+    }
+
+    // Cada prazo é uma linha calculada em paralelo; dentro dela a potência da Tabela Price é calculada uma única vez
+    // e reaproveitada para todos os valores. Com resumo, as células trazem só parcela e total.
+    public GradeSimulacaoResponse simularGrade(GradeSimulacaoRequest request, boolean resumo) {
+        ProdutoEmprestimo produto = simulacaoValidator.validateGradeAndGetProduto(request, resumo, celulasMaximoGrade,
+                parcelasMaximoGrade);
+        BigDecimal taxaMensal = taxaMensal(produto);
+
+        List<BigDecimal> valores = new ArrayList<>();
+        BigDecimal passoValor = BigDecimal.valueOf(request.passoValor());
+        BigDecimal valorMaximo = BigDecimal.valueOf(request.valorMaximo());
+        for (BigDecimal valor = BigDecimal.valueOf(request.valorMinimo()); valor.compareTo(valorMaximo) <= 0; valor = valor.add(passoValor)) {
+            valores.add(valor);
+        }
+        List<Integer> prazos = new ArrayList<>();
+        for (int prazo = request.prazoMinimo(); prazo <= request.prazoMaximo(); prazo += request.passoPrazo()) {
+            prazos.add(prazo);
+        }
+
+        List<CompletableFuture<LinhaGrade>> linhas = prazos.stream()
+                .map(prazo -> executorSimulacoes.executar(() -> simularLinhaGrade(valores, taxaMensal, prazo, resumo)))
+                .toList();
+
+        return new GradeSimulacaoResponse(
+                produto,
+                format(produto.getTaxaJurosAnual()),
+                taxaMensal.setScale(6, RoundingMode.HALF_UP).toPlainString(),
+                valores.stream().map(this::format).toList(),
+                prazos,
+                linhas.stream().map(CompletableFuture::join).toList());
+    }
+
+    private LinhaGrade simularLinhaGrade(List<BigDecimal> valores, BigDecimal taxaMensal, int prazoMeses, boolean resumo) {
+        FatorAnuidade fatorAnuidade = calculadora.calcularFatorAnuidade(taxaMensal, prazoMeses);
+        List<CelulaGrade> celulas = new ArrayList<>(valores.size());
+        for (BigDecimal valor : valores) {
+            ResultadoCalculoEmprestimo resultado = resumo
+                    ? calculadora.calcularResumo(valor, fatorAnuidade)
+                    : calculadora.calcular(valor, fatorAnuidade);
+            celulas.add(new CelulaGrade(
+                    format(valor),
+                    format(resultado.valorParcela()),
+                    format(resultado.valorTotal()),
+                    resumo ? null : resultado.memoriaCalculo().stream().map(this::mapearParaParcelaDetalhe).toList()));
+        }
+        return new LinhaGrade(prazoMeses, celulas);
+    }
+
+    public EstatisticasCacheResponse estatisticasCache() {
+        return simulacaoCache.estatisticas();
+    }
+
+    // A versão do produto entra na chave, então uma simulação nunca é servida com dados de um produto alterado
+    private SimulacaoResponse simular(ProdutoEmprestimo produto, SimulacaoRequest request, boolean resumo) {
+        SimulacaoCache.Chave chave = new SimulacaoCache.Chave(produto.getId(), produto.getVersao(),
+                request.valorSolicitadoCentavos(), request.prazoMeses(), resumo);
+        return simulacaoCache.obter(chave, () -> calcular(produto, request, resumo));
+    }
+
+    private SimulacaoResponse calcular(ProdutoEmprestimo produto, SimulacaoRequest request, boolean resumo) {
+        Integer prazoMeses = request.prazoMeses();
+        Long idProduto = produto.getId();
+
+        long inicio = System.nanoTime();
+        BigDecimal taxaMensal = taxaMensal(produto);
+        metricas.registrarFase(Metricas.FASE_TAXA, prazoMeses, idProduto, inicio);
+
+        SimulacaoEvento evento = new SimulacaoEvento();
+        evento.begin();
+
+        long valorCentavos = request.valorSolicitadoCentavos();
+        inicio = System.nanoTime();
+        ResultadoCalculoEmprestimo resultadoCalculo;
+        List<ParcelaDetalhe> memoria = null;
+        if (resumo) {
+            resultadoCalculo = calculadora.calcularResumoCentavos(valorCentavos, taxaMensal, prazoMeses);
+        } else {
+            // A memória de cálculo é montada direto dos centavos de cada parcela
+            List<ParcelaDetalhe> parcelas = new ArrayList<>(prazoMeses);
+            resultadoCalculo = calculadora.percorrerParcelasCentavos(valorCentavos, taxaMensal, prazoMeses,
+                    (numero, amortizacao, juros, saldoDevedor) -> parcelas.add(new ParcelaDetalhe(numero, amortizacao, juros, saldoDevedor)));
+            memoria = Collections.unmodifiableList(parcelas);
+        }
+        long duracaoCalculo = System.nanoTime() - inicio;
+        metricas.registrarFase(Metricas.FASE_CALCULO, prazoMeses, idProduto, inicio);
+
+        inicio = System.nanoTime();
+        SimulacaoResponse response = construirResponse(produto, request, taxaMensal, resultadoCalculo, memoria);
+        metricas.registrarFase(Metricas.FASE_MAPEAMENTO, prazoMeses, idProduto, inicio);
+
+        // Os campos só são preenchidos quando há uma gravação JFR interessada no evento
+        if (evento.shouldCommit()) {
+            evento.idProduto = idProduto == null ? 0 : idProduto;
+            evento.prazoMeses = prazoMeses;
+            evento.valorSolicitado = valorCentavos / 100.0;
+            evento.resumo = resumo;
+            evento.duracaoCalculo = duracaoCalculo;
+            evento.parcelas = memoria == null ? 0 : memoria.size();
+            evento.commit();
+        }
+        return response;
+    }
+
+    // A validação inclui a busca do produto; falhas também são medidas
+    private ProdutoEmprestimo validarProduto(SimulacaoRequest request) {
+        long inicio = System.nanoTime();
+        ProdutoEmprestimo produto = null;
+        try {
+            produto = simulacaoValidator.validateAndGetProduto(request);
+            return produto;
+        } finally {
+            // Só um produto encontrado no banco vira tag; IDs inválidos ou inexistentes ficam como "desconhecido"
+            metricas.registrarFase(Metricas.FASE_VALIDACAO,
+                    request == null ? null : request.prazoMeses(),
+                    produto == null ? null : produto.getId(), inicio);
+        }
+    }
+
+    // A taxa mensal é gravada no cadastro do produto; só produtos antigos, sem ela, recalculam a cada simulação
+    BigDecimal taxaMensal(ProdutoEmprestimo produto) {
+        BigDecimal taxaMensal = produto.getTaxaJurosMensal();
+        return taxaMensal != null ? taxaMensal : TaxaJuros.calcularTaxaMensalEquivalente(produto.getTaxaJurosAnual());
+    }
+
+    // A memória de cálculo já chega em ParcelaDetalhe; null no modo resumo
+    SimulacaoResponse construirResponse(ProdutoEmprestimo produto, SimulacaoRequest request, BigDecimal taxaMensal,
+                                        ResultadoCalculoEmprestimo resultadoCalculo, List<ParcelaDetalhe> memoriaResponse) {
         return new SimulacaoResponse(
                 produto,
-                format(BigDecimal.valueOf(request.valorSolicitado())),
+                format(valorSolicitado(request)),
                 request.prazoMeses(),
                 format(produto.getTaxaJurosAnual()),
                 taxaMensal.setScale(6, RoundingMode.HALF_UP).toPlainString(),
@@ -67,16 +424,27 @@ public class SimulacaoService {
         );
     }
 
+    // O valor chega em centavos exatos; com escala 2, o BigDecimal é criado sem passar por texto
+    private static BigDecimal valorSolicitado(SimulacaoRequest request) {
+        return BigDecimal.valueOf(request.valorSolicitadoCentavos(), 2);
+    }
+
+    // Só converte para centavos; o texto com duas casas é gravado pelo ParcelaDetalheSerializer direto na saída
     private ParcelaDetalhe mapearParaParcelaDetalhe(ParcelaAmortizacao parcela) {
         return new ParcelaDetalhe(
                 parcela.numero(),
-                format(parcela.valorAmortizacao()),
-                format(parcela.valorJuros()),
-                format(parcela.saldoDevedor())
+                centavos(parcela.valorAmortizacao()),
+                centavos(parcela.valorJuros()),
+                centavos(parcela.saldoDevedor())
         );
     }
 
     private String format(BigDecimal valor) {
         return valor.setScale(2, RoundingMode.HALF_UP).toPlainString();
     }
+
+    // Mesmo arredondamento de format, expresso em centavos
+    private static long centavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
 }
@@ -0,0 +1,44 @@
+package caixaverso.util;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@ApplicationScoped
+public class ExecutorSimulacoes {
+
+    private final ThreadPoolExecutor executor;
+
+    public ExecutorSimulacoes(@ConfigProperty(name = "simulacao.executor.threads", defaultValue = "0") int threads,
+                              @ConfigProperty(name = "simulacao.executor.fila", defaultValue = "1000") int fila) {
+        // Zero threads usa um thread por processador disponível
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+
+        // Com a fila cheia, o próprio thread da requisição executa a tarefa, limitando a pressão sobre o pool
+        this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "simulacao-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public <T> CompletableFuture<T> executar(Supplier<T> tarefa) {
+        return CompletableFuture.supplyAsync(tarefa, executor);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,22 @@
+package caixaverso.util;
+
+import caixaverso.dto.GradeSimulacaoResponse.CelulaGrade;
+import caixaverso.dto.SimulacaoResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.jackson.ObjectMapperCustomizer;
+import jakarta.inject.Singleton;
+
+@Singleton
+public class JacksonConfig implements ObjectMapperCustomizer {
+
+    // Os serializadores gerados no build (quarkus.rest.jackson.optimization.enable-reflection-free-serializers,
+    // desligado por padrão) não leem @JsonInclude da classe, só a inclusão configurada no ObjectMapper para o tipo;
+    // sem isso, ao ligá-los, o modo resumo gravaria "memoriaCalculo": null
+    @Override
+    public void customize(ObjectMapper objectMapper) {
+        JsonInclude.Value naoNulo = JsonInclude.Value.construct(JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_NULL);
+        objectMapper.configOverride(SimulacaoResponse.class).setInclude(naoNulo);
+        objectMapper.configOverride(CelulaGrade.class).setInclude(naoNulo);
+    }
+}
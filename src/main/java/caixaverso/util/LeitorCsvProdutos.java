@@ -0,0 +1,90 @@
+package caixaverso.util;
+
+import caixaverso.dto.LinhaImportacao;
+import caixaverso.dto.ProdutoRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// Lê o CSV "nome,taxaJurosAnual,prazoMaximoMeses"; campos entre aspas podem conter vírgulas e aspas duplicadas ("")
+public final class LeitorCsvProdutos {
+
+    private static final int COLUNAS = 3;
+
+    private LeitorCsvProdutos() {
+    }
+
+    public static List<LinhaImportacao> ler(String conteudo) {
+        List<LinhaImportacao> linhas = new ArrayList<>();
+        if (conteudo == null) {
+            return linhas;
+        }
+
+        String[] registros = conteudo.split("\r?\n");
+        boolean primeiroRegistro = true;
+        for (int indice = 0; indice < registros.length; indice++) {
+            if (registros[indice].isBlank()) {
+                continue;
+            }
+
+            List<String> campos = separarCampos(registros[indice]);
+            // O cabeçalho é opcional e só é reconhecido no primeiro registro preenchido
+            boolean cabecalho = primeiroRegistro && "nome".equalsIgnoreCase(campos.get(0).trim());
+            primeiroRegistro = false;
+            if (!cabecalho) {
+                linhas.add(converter(indice + 1, campos));
+            }
+        }
+        return linhas;
+    }
+
+    private static LinhaImportacao converter(int numeroLinha, List<String> campos) {
+        if (campos.size() != COLUNAS) {
+            return new LinhaImportacao(numeroLinha, null,
+                    "A linha deve ter 3 colunas: nome, taxaJurosAnual e prazoMaximoMeses.");
+        }
+
+        String nome = campos.get(0).trim();
+        String taxa = campos.get(1).trim();
+        String prazo = campos.get(2).trim();
+        try {
+            return new LinhaImportacao(numeroLinha, new ProdutoRequest(
+                    nome,
+                    taxa.isEmpty() ? null : new BigDecimal(taxa),
+                    prazo.isEmpty() ? null : Integer.valueOf(prazo)), null);
+        } catch (NumberFormatException e) {
+            return new LinhaImportacao(numeroLinha, null,
+                    "A taxa de juros e o prazo máximo devem ser numéricos, com ponto como separador decimal.");
+        }
+    }
+
+    private static List<String> separarCampos(String registro) {
+        List<String> campos = new ArrayList<>(COLUNAS);
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < registro.length(); i++) {
+            char caractere = registro.charAt(i);
+            if (entreAspas) {
+                if (caractere == '"' && i + 1 < registro.length() && registro.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (caractere == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(caractere);
+                }
+            } else if (caractere == '"') {
+                entreAspas = true;
+            } else if (caractere == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(caractere);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,162 @@
+package caixaverso.util;
+
+import caixaverso.exception.RegraValidacao;
+import caixaverso.exception.ValidacaoException;
+import java.math.BigDecimal;
+
+// Converte o texto do valor solicitado direto para centavos exatos, sem passar por Double nem BigDecimal.
+// Aceita sinal, parte fracionária e expoente, como um número JSON; zeros além da segunda casa são tolerados.
+public final class LeitorValorMonetario {
+
+    public static final long LIMITE_CENTAVOS = 100_000_000L;
+
+    public static final String MENSAGEM_POSITIVO = "O valor solicitado deve ser maior que zero.";
+    public static final String MENSAGEM_LIMITE = "O valor solicitado deve ser menor ou igual a R$1.000.000,00.";
+    public static final String MENSAGEM_FORMATO = "O valor solicitado deve ser um número com no máximo duas casas decimais.";
+
+    private static final BigDecimal LIMITE = BigDecimal.valueOf(LIMITE_CENTAVOS, 2);
+
+    // Acima disso a mantissa deixa de acumular dígitos; o valor já estaria muito além do limite
+    private static final long MANTISSA_MAXIMA = 100_000_000_000_000_000L;
+    private static final int EXPOENTE_MAXIMO = 1000;
+
+    private static final long[] POTENCIAS_DE_DEZ = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L
+    };
+
+    private LeitorValorMonetario() {
+    }
+
+    public static long lerCentavos(String texto) {
+        return lerCentavos(texto.toCharArray(), 0, texto.length());
+    }
+
+    public static long lerCentavos(char[] texto, int inicio, int tamanho) {
+        int posicao = inicio;
+        int fim = inicio + tamanho;
+        while (posicao < fim && texto[posicao] <= ' ') {
+            posicao++;
+        }
+        while (fim > posicao && texto[fim - 1] <= ' ') {
+            fim--;
+        }
+
+        boolean negativo = false;
+        if (posicao < fim && (texto[posicao] == '-' || texto[posicao] == '+')) {
+            negativo = texto[posicao] == '-';
+            posicao++;
+        }
+
+        long mantissa = 0;
+        int expoente = 0;
+        int zerosPendentes = 0;
+        boolean temDigito = false;
+        boolean descartouDigito = false;
+
+        while (posicao < fim && ehDigito(texto[posicao])) {
+            temDigito = true;
+            if (mantissa < MANTISSA_MAXIMA) {
+                mantissa = mantissa * 10 + (texto[posicao] - '0');
+            } else {
+                descartouDigito |= texto[posicao] != '0';
+                expoente++;
+            }
+            posicao++;
+        }
+        if (posicao < fim && texto[posicao] == '.') {
+            posicao++;
+            // Zeros da parte fracionária só entram na mantissa se um dígito significativo vier depois deles
+            while (posicao < fim && ehDigito(texto[posicao])) {
+                temDigito = true;
+                int digito = texto[posicao] - '0';
+                if (digito == 0) {
+                    zerosPendentes++;
+                } else if (zerosPendentes + 1 < POTENCIAS_DE_DEZ.length
+                        && mantissa < MANTISSA_MAXIMA / POTENCIAS_DE_DEZ[zerosPendentes + 1]) {
+                    mantissa = mantissa * POTENCIAS_DE_DEZ[zerosPendentes + 1] + digito;
+                    expoente -= zerosPendentes + 1;
+                    zerosPendentes = 0;
+                } else if (expoente > 0) {
+                    // A parte inteira já estourou a mantissa; a fração não muda o resultado
+                    descartouDigito = true;
+                } else {
+                    throw new ValidacaoException(RegraValidacao.VALOR_FORMATO_INVALIDO, MENSAGEM_FORMATO);
+                }
+                posicao++;
+            }
+        }
+        if (!temDigito) {
+            throw new ValidacaoException(RegraValidacao.VALOR_FORMATO_INVALIDO, MENSAGEM_FORMATO);
+        }
+
+        if (posicao < fim && (texto[posicao] == 'e' || texto[posicao] == 'E')) {
+            posicao++;
+            boolean expoenteNegativo = false;
+            if (posicao < fim && (texto[posicao] == '-' || texto[posicao] == '+')) {
+                expoenteNegativo = texto[posicao] == '-';
+                posicao++;
+            }
+            if (posicao == fim) {
+                throw new ValidacaoException(RegraValidacao.VALOR_FORMATO_INVALIDO, MENSAGEM_FORMATO);
+            }
+            int expoenteInformado = 0;
+            while (posicao < fim && ehDigito(texto[posicao])) {
+                expoenteInformado = Math.min(expoenteInformado * 10 + (texto[posicao] - '0'), EXPOENTE_MAXIMO);
+                posicao++;
+            }
+            expoente += expoenteNegativo ? -expoenteInformado : expoenteInformado;
+        }
+        if (posicao != fim) {
+            throw new ValidacaoException(RegraValidacao.VALOR_FORMATO_INVALIDO, MENSAGEM_FORMATO);
+        }
+
+        if (mantissa == 0 || negativo) {
+            throw new ValidacaoException(RegraValidacao.VALOR_NAO_POSITIVO, MENSAGEM_POSITIVO);
+        }
+        // Dígitos descartados só não importam quando o valor já passa do limite
+        if (descartouDigito && expoente + 2 < 0) {
+            throw new ValidacaoException(RegraValidacao.VALOR_FORMATO_INVALIDO, MENSAGEM_FORMATO);
+        }
+        return centavos(mantissa, expoente + 2);
+    }
+
+    // Formatos binários, como CBOR, entregam o número já decodificado
+    public static long lerCentavos(BigDecimal valor) {
+        if (valor.signum() <= 0) {
+            throw new ValidacaoException(RegraValidacao.VALOR_NAO_POSITIVO, MENSAGEM_POSITIVO);
+        }
+        if (valor.compareTo(LIMITE) > 0) {
+            throw new ValidacaoException(RegraValidacao.VALOR_ACIMA_DO_LIMITE, MENSAGEM_LIMITE);
+        }
+        try {
+            return valor.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new ValidacaoException(RegraValidacao.VALOR_FORMATO_INVALIDO, MENSAGEM_FORMATO);
+        }
+    }
+
+    // centavos = mantissa x 10^ajuste; um ajuste negativo só é exato se a mantissa terminar em zeros suficientes
+    private static long centavos(long mantissa, int ajuste) {
+        if (ajuste < 0) {
+            if (-ajuste >= POTENCIAS_DE_DEZ.length || mantissa % POTENCIAS_DE_DEZ[-ajuste] != 0) {
+                throw new ValidacaoException(RegraValidacao.VALOR_FORMATO_INVALIDO, MENSAGEM_FORMATO);
+            }
+            mantissa /= POTENCIAS_DE_DEZ[-ajuste];
+        } else if (ajuste > 0) {
+            if (ajuste >= POTENCIAS_DE_DEZ.length || mantissa > LIMITE_CENTAVOS / POTENCIAS_DE_DEZ[ajuste]) {
+                throw new ValidacaoException(RegraValidacao.VALOR_ACIMA_DO_LIMITE, MENSAGEM_LIMITE);
+            }
+            mantissa *= POTENCIAS_DE_DEZ[ajuste];
+        }
+        if (mantissa > LIMITE_CENTAVOS) {
+            throw new ValidacaoException(RegraValidacao.VALOR_ACIMA_DO_LIMITE, MENSAGEM_LIMITE);
+        }
+        return mantissa;
+    }
+
+    private static boolean ehDigito(char caractere) {
+        return caractere >= '0' && caractere <= '9';
+    }
+}
@@ -0,0 +1,43 @@
+package caixaverso.util;
+
+import caixaverso.dto.SimulacaoResponse.ParcelaDetalhe;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Lê o formato gravado pelo ParcelaDetalheSerializer, usado por clientes Java da API (JSON ou CBOR)
+public class ParcelaDetalheDeserializer extends StdDeserializer<ParcelaDetalhe> {
+
+    public ParcelaDetalheDeserializer() {
+        super(ParcelaDetalhe.class);
+    }
+
+    @Override
+    public ParcelaDetalhe deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+        JsonNode parcela = parser.readValueAsTree();
+        return new ParcelaDetalhe(
+                parcela.path("mes").asInt(),
+                centavos(parcela, "amortizacao", contexto),
+                centavos(parcela, "juros", contexto),
+                centavos(parcela, "saldoDevedor", contexto));
+    }
+
+    private static long centavos(JsonNode parcela, String campo, DeserializationContext contexto) throws IOException {
+        JsonNode valor = parcela.get(campo);
+        if (valor == null || valor.isNull()) {
+            return 0;
+        }
+        try {
+            BigDecimal decimal = valor.isNumber() ? valor.decimalValue() : new BigDecimal(valor.asText().trim());
+            return decimal.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            return (Long) contexto.handleWeirdStringValue(Long.class, valor.asText(),
+                    "O campo '%s' da parcela deve ser um valor monetário", campo);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package caixaverso.util;
+
+import caixaverso.dto.SimulacaoResponse.ParcelaDetalhe;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+// Grava a parcela sem reflexão, sem boxing e sem criar Strings: os centavos são formatados em um buffer por thread
+public class ParcelaDetalheSerializer extends StdSerializer<ParcelaDetalhe> {
+
+    private static final SerializedString MES = new SerializedString("mes");
+    private static final SerializedString AMORTIZACAO = new SerializedString("amortizacao");
+    private static final SerializedString JUROS = new SerializedString("juros");
+    private static final SerializedString SALDO_DEVEDOR = new SerializedString("saldoDevedor");
+
+    // Sinal, 19 dígitos, ponto e o zero à esquerda de valores abaixo de um real
+    private static final int TAMANHO_MAXIMO = 22;
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[TAMANHO_MAXIMO]);
+
+    public ParcelaDetalheSerializer() {
+        super(ParcelaDetalhe.class);
+    }
+
+    @Override
+    public void serialize(ParcelaDetalhe parcela, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+        char[] buffer = BUFFER.get();
+        gerador.writeStartObject(parcela);
+        gerador.writeFieldName(MES);
+        gerador.writeNumber(parcela.mes());
+        gerador.writeFieldName(AMORTIZACAO);
+        escreverCentavos(gerador, parcela.amortizacao(), buffer);
+        gerador.writeFieldName(JUROS);
+        escreverCentavos(gerador, parcela.juros(), buffer);
+        gerador.writeFieldName(SALDO_DEVEDOR);
+        escreverCentavos(gerador, parcela.saldoDevedor(), buffer);
+        gerador.writeEndObject();
+    }
+
+    private static void escreverCentavos(JsonGenerator gerador, long centavos, char[] buffer) throws IOException {
+        int inicio = formatar(centavos, buffer);
+        gerador.writeString(buffer, inicio, buffer.length - inicio);
+    }
+
+    // Preenche o buffer da direita para a esquerda e devolve a posição do primeiro caractere; o mesmo texto de
+    // BigDecimal.valueOf(centavos, 2).toPlainString()
+    static int formatar(long centavos, char[] buffer) {
+        int posicao = buffer.length;
+        boolean negativo = centavos < 0;
+        // O resto é mantido negativo para que Long.MIN_VALUE também seja formatado
+        long resto = negativo ? centavos : -centavos;
+        for (int casa = 0; casa < 2; casa++) {
+            buffer[--posicao] = (char) ('0' - resto % 10);
+            resto /= 10;
+        }
+        buffer[--posicao] = '.';
+        do {
+            buffer[--posicao] = (char) ('0' - resto % 10);
+            resto /= 10;
+        } while (resto != 0);
+        if (negativo) {
+            buffer[--posicao] = '-';
+        }
+        return posicao;
+    }
+}
@@ -0,0 +1,35 @@
+package caixaverso.util;
+
+import caixaverso.dto.SimulacaoLoteItem;
+import caixaverso.exception.ValorMonetarioInvalidoException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+// Lê cada item do lote com o SimulacaoRequestDeserializer. O valor inválido vale só para o seu item: o restante do
+// objeto é descartado e a leitura segue para o próximo. Os demais erros de leitura continuam rejeitando o corpo.
+public class SimulacaoLoteItemDeserializer extends StdDeserializer<SimulacaoLoteItem> {
+
+    private final SimulacaoRequestDeserializer simulacao = new SimulacaoRequestDeserializer();
+
+    public SimulacaoLoteItemDeserializer() {
+        super(SimulacaoLoteItem.class);
+    }
+
+    @Override
+    public SimulacaoLoteItem deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+        try {
+            return SimulacaoLoteItem.de(simulacao.deserialize(parser, contexto));
+        } catch (ValorMonetarioInvalidoException e) {
+            // A exceção é lançada no token do valor; os campos seguintes são pulados até o fim do objeto
+            for (JsonToken token = parser.nextToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+                parser.nextToken();
+                parser.skipChildren();
+            }
+            return SimulacaoLoteItem.comErro(e);
+        }
+    }
+}
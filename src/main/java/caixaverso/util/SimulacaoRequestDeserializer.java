@@ -0,0 +1,53 @@
+package caixaverso.util;
+
+import caixaverso.dto.SimulacaoRequest;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+// Lê a simulação campo a campo, sem árvore intermediária. Anotado na classe, prevalece sobre o desserializador
+// gerado pelo Quarkus, que leria o valor com asLong e ignoraria o ValorMonetarioDeserializer.
+public class SimulacaoRequestDeserializer extends StdDeserializer<SimulacaoRequest> {
+
+    private final ValorMonetarioDeserializer valorMonetario = new ValorMonetarioDeserializer();
+
+    public SimulacaoRequestDeserializer() {
+        super(SimulacaoRequest.class);
+    }
+
+    @Override
+    public SimulacaoRequest deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        } else if (token != JsonToken.FIELD_NAME) {
+            return (SimulacaoRequest) contexto.handleUnexpectedToken(SimulacaoRequest.class, parser);
+        }
+
+        Long idProduto = null;
+        Long valorSolicitadoCentavos = null;
+        Integer prazoMeses = null;
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String campo = parser.currentName();
+            JsonToken valor = parser.nextToken();
+            try {
+                switch (campo) {
+                    case "idProduto" -> idProduto = contexto.readValue(parser, Long.class);
+                    case "valorSolicitado" -> valorSolicitadoCentavos = valor == JsonToken.VALUE_NULL
+                            ? null
+                            : valorMonetario.deserialize(parser, contexto);
+                    case "prazoMeses" -> prazoMeses = contexto.readValue(parser, Integer.class);
+                    default -> contexto.handleUnknownProperty(parser, this, SimulacaoRequest.class, campo);
+                }
+            } catch (JsonMappingException e) {
+                // Mantém a exceção original, só acrescentando o campo ao caminho, como o desserializador de beans faria
+                throw JsonMappingException.wrapWithPath(e, SimulacaoRequest.class, campo);
+            }
+        }
+        return new SimulacaoRequest(idProduto, valorSolicitadoCentavos, prazoMeses);
+    }
+}
@@ -0,0 +1,36 @@
+package caixaverso.util;
+
+import caixaverso.exception.ValidacaoException;
+import caixaverso.exception.ValorMonetarioInvalidoException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadCapability;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+// Lê o valor monetário do token atual direto para centavos; valores fora da faixa interrompem a leitura do corpo
+public class ValorMonetarioDeserializer extends StdDeserializer<Long> {
+
+    public ValorMonetarioDeserializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public Long deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token != JsonToken.VALUE_STRING && (token == null || !token.isNumeric())) {
+            return (Long) contexto.handleUnexpectedToken(Long.class, parser);
+        }
+        try {
+            // Em formatos binários, como CBOR, o número já chega decodificado; nos textuais ele ainda está no buffer do parser
+            if (token.isNumeric() && parser.getReadCapabilities().isEnabled(StreamReadCapability.EXACT_FLOATS)) {
+                return LeitorValorMonetario.lerCentavos(parser.getDecimalValue());
+            }
+            return LeitorValorMonetario.lerCentavos(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        } catch (ValidacaoException e) {
+            throw new ValorMonetarioInvalidoException(parser, e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package caixaverso.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+// Grava os centavos como o número decimal que o ValorMonetarioDeserializer lê
+public class ValorMonetarioSerializer extends StdSerializer<Long> {
+
+    public ValorMonetarioSerializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public void serialize(Long centavos, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+        gerador.writeNumber(BigDecimal.valueOf(centavos, 2));
+    }
+}
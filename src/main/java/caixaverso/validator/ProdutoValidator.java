@@ -1,5 +1,6 @@
 package caixaverso.validator;
 
+import caixaverso.dto.FiltroProdutos;
 import caixaverso.dto.ProdutoRequest;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.ws.rs.BadRequestException;
@@ -13,6 +14,9 @@ public class ProdutoValidator {
         if (produto.nome() == null || produto.nome().isBlank()) {
             throw new BadRequestException("O nome do produto é obrigatório.");
         }
+        if (produto.nome().length() > 255) {
+            throw new BadRequestException("O nome do produto deve ter no máximo 255 caracteres.");
+        }
         if (produto.taxaJurosAnual() == null) {
             throw new BadRequestException("A taxa de juros é obrigatória.");
         }
@@ -22,6 +26,10 @@ public class ProdutoValidator {
         if (produto.taxaJurosAnual().compareTo(BigDecimal.valueOf(360)) > 0){
             throw new BadRequestException("A taxa de juros deve ser menor ou igual a 360% ao ano.");
         }
+        // A coluna guarda duas casas decimais; zeros à direita não mudam o valor
+        if (produto.taxaJurosAnual().stripTrailingZeros().scale() > 2) {
+            throw new BadRequestException("A taxa de juros deve ter no máximo duas casas decimais.");
+        }
         if (produto.prazoMaximoMeses() == null) {
             throw new BadRequestException("O prazo máximo é obrigatório.");
         }
@@ -32,4 +40,20 @@ public class ProdutoValidator {
             throw new BadRequestException("O prazo máximo deve ser menor ou igual a 360 meses.");
         }
     }
+
+    public void validateFiltro(FiltroProdutos filtro, int limite, int limiteMaximo) {
+        if (limite < 1 || limite > limiteMaximo) {
+            throw new BadRequestException(String.format("O limite deve estar entre 1 e %d produtos.", limiteMaximo));
+        }
+        if (filtro.apos() != null && filtro.apos() < 0) {
+            throw new BadRequestException("O cursor deve ser maior ou igual a zero.");
+        }
+        if (filtro.taxaMinima() != null && filtro.taxaMaxima() != null
+                && filtro.taxaMinima().compareTo(filtro.taxaMaxima()) > 0) {
+            throw new BadRequestException("A taxa mínima deve ser menor ou igual à taxa máxima.");
+        }
+        if (filtro.prazoMeses() != null && filtro.prazoMeses() <= 0) {
+            throw new BadRequestException("O prazo deve ser maior que zero.");
+        }
+    }
 }
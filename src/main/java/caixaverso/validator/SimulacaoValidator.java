@@ -1,44 +1,171 @@
 package caixaverso.validator;
 
-import caixaverso.dao.ProdutoDao;
+import caixaverso.dao.ProdutoCache;
+import caixaverso.dto.GradeSimulacaoRequest;
 import caixaverso.dto.SimulacaoRequest;
+import caixaverso.exception.RegraValidacao;
+import caixaverso.exception.ValidacaoException;
 import caixaverso.model.ProdutoEmprestimo;
+import caixaverso.util.LeitorValorMonetario;
 import jakarta.enterprise.context.ApplicationScoped;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
 @ApplicationScoped
 public class SimulacaoValidator {
 
-    private final ProdutoDao produtoDao;
+    private final ProdutoCache produtoCache;
 
-    public SimulacaoValidator(ProdutoDao produtoDao) {
-        this.produtoDao = produtoDao;
+    public SimulacaoValidator(ProdutoCache produtoCache) {
+        this.produtoCache = produtoCache;
     }
 
     public ProdutoEmprestimo validateAndGetProduto(SimulacaoRequest request) {
+        validate(request);
+        return validateProduto(request, produtoCache.buscarPorId(request.idProduto()));
+    }
+
+    // Reaproveita os produtos já carregados no mesmo lote, consultando o banco uma única vez por ID
+    public ProdutoEmprestimo validateAndGetProduto(SimulacaoRequest request, Map<Long, ProdutoEmprestimo> produtosCarregados) {
+        validate(request);
+        ProdutoEmprestimo produto;
+        if (produtosCarregados.containsKey(request.idProduto())) {
+            produto = produtosCarregados.get(request.idProduto());
+        } else {
+            produto = produtoCache.buscarPorId(request.idProduto());
+            produtosCarregados.put(request.idProduto(), produto);
+        }
+        return validateProduto(request, produto);
+    }
+
+    public void validate(SimulacaoRequest request) {
 
+        if (request == null) {
+            throw new ValidacaoException(RegraValidacao.DADOS_OBRIGATORIOS, "Os dados da simulação são obrigatórios.");
+        }
         if (request.idProduto() == null) {
-            throw new IllegalArgumentException("O ID do produto é obrigatório.");
+            throw new ValidacaoException(RegraValidacao.PRODUTO_OBRIGATORIO, "O ID do produto é obrigatório.");
         }
-        if (request.valorSolicitado() == null || request.valorSolicitado() <= 0) {
-            throw new IllegalArgumentException("O valor solicitado deve ser maior que zero.");
+        validateValorEPrazo(request);
+    }
+
+    // A comparação simula todos os produtos elegíveis, então o ID do produto não é informado
+    public void validateComparacao(SimulacaoRequest request) {
+
+        if (request == null) {
+            throw new ValidacaoException(RegraValidacao.DADOS_OBRIGATORIOS, "Os dados da simulação são obrigatórios.");
         }
-        if (request.valorSolicitado() > 1000000) {
-            throw new IllegalArgumentException("O valor solicitado deve ser menor ou igual a R$1.000.000,00.");
+        validateValorEPrazo(request);
+    }
+
+    private void validateValorEPrazo(SimulacaoRequest request) {
+        // Corpos JSON e CBOR já têm a faixa conferida pelo ValorMonetarioDeserializer; aqui ficam os demais chamadores
+        if (request.valorSolicitadoCentavos() == null || request.valorSolicitadoCentavos() <= 0) {
+            throw new ValidacaoException(RegraValidacao.VALOR_NAO_POSITIVO, LeitorValorMonetario.MENSAGEM_POSITIVO);
+        }
+        if (request.valorSolicitadoCentavos() > LeitorValorMonetario.LIMITE_CENTAVOS) {
+            throw new ValidacaoException(RegraValidacao.VALOR_ACIMA_DO_LIMITE, LeitorValorMonetario.MENSAGEM_LIMITE);
         }
         if (request.prazoMeses() == null || request.prazoMeses() <= 0) {
-            throw new IllegalArgumentException("O prazo em meses deve ser maior que zero.");
+            throw new ValidacaoException(RegraValidacao.PRAZO_NAO_POSITIVO, "O prazo em meses deve ser maior que zero.");
         }
+    }
 
-        ProdutoEmprestimo produto = produtoDao.listarPorId(request.idProduto());
+    // Valida as faixas da grade e o total de células antes de qualquer cálculo; o maior prazo precisa caber no produto.
+    // Sem resumo, cada célula traz uma parcela por mês, então o total de parcelas tem um limite próprio
+    public ProdutoEmprestimo validateGradeAndGetProduto(GradeSimulacaoRequest request, boolean resumo, int celulasMaximo,
+                                                        int parcelasMaximo) {
 
+        if (request == null) {
+            throw new ValidacaoException(RegraValidacao.DADOS_OBRIGATORIOS, "Os dados da grade são obrigatórios.");
+        }
+        if (request.idProduto() == null) {
+            throw new ValidacaoException(RegraValidacao.PRODUTO_OBRIGATORIO, "O ID do produto é obrigatório.");
+        }
+        if (request.valorMinimo() == null || request.valorMaximo() == null || request.valorMinimo() <= 0) {
+            throw new ValidacaoException(RegraValidacao.GRADE_FAIXA_INVALIDA, "Os valores mínimo e máximo devem ser maiores que zero.");
+        }
+        if (request.valorMaximo() > 1000000) {
+            throw new ValidacaoException(RegraValidacao.GRADE_FAIXA_INVALIDA, "O valor máximo deve ser menor ou igual a R$1.000.000,00.");
+        }
+        if (request.valorMinimo() > request.valorMaximo()) {
+            throw new ValidacaoException(RegraValidacao.GRADE_FAIXA_INVALIDA, "O valor mínimo deve ser menor ou igual ao valor máximo.");
+        }
+        if (request.passoValor() == null || request.passoValor() <= 0) {
+            throw new ValidacaoException(RegraValidacao.GRADE_FAIXA_INVALIDA, "O passo do valor deve ser maior que zero.");
+        }
+        if (request.prazoMinimo() == null || request.prazoMaximo() == null || request.prazoMinimo() <= 0) {
+            throw new ValidacaoException(RegraValidacao.GRADE_FAIXA_INVALIDA, "Os prazos mínimo e máximo devem ser maiores que zero.");
+        }
+        if (request.prazoMinimo() > request.prazoMaximo()) {
+            throw new ValidacaoException(RegraValidacao.GRADE_FAIXA_INVALIDA, "O prazo mínimo deve ser menor ou igual ao prazo máximo.");
+        }
+        if (request.passoPrazo() == null || request.passoPrazo() <= 0) {
+            throw new ValidacaoException(RegraValidacao.GRADE_FAIXA_INVALIDA, "O passo do prazo deve ser maior que zero.");
+        }
+
+        if (quantidadeCelulas(request).compareTo(BigDecimal.valueOf(celulasMaximo)) > 0) {
+            throw new ValidacaoException(RegraValidacao.GRADE_ACIMA_DO_LIMITE,
+                    String.format("A grade deve conter no máximo %d simulações (valores x prazos).", celulasMaximo));
+        }
+        if (!resumo && quantidadeParcelas(request).compareTo(BigDecimal.valueOf(parcelasMaximo)) > 0) {
+            throw new ValidacaoException(RegraValidacao.GRADE_ACIMA_DO_LIMITE, String.format(
+                    "Com a memória de cálculo, a grade deve conter no máximo %d parcelas (valores x soma dos prazos); "
+                            + "use resumo=true para grades maiores.", parcelasMaximo));
+        }
+
+        ProdutoEmprestimo produto = produtoCache.buscarPorId(request.idProduto());
+        if (produto == null) {
+            throw new ValidacaoException(RegraValidacao.PRODUTO_NAO_ENCONTRADO, "Produto de empréstimo não encontrado para o ID informado.");
+        }
+        if (request.prazoMaximo() > produto.getPrazoMaximoMeses()) {
+            throw new ValidacaoException(RegraValidacao.PRAZO_ACIMA_DO_PRODUTO,
+                    String.format("O prazo máximo da grade (%d meses) excede o prazo máximo do produto (%d meses).",
+                            request.prazoMaximo(), produto.getPrazoMaximoMeses()));
+        }
+        return produto;
+    }
+
+    public void validateMes(SimulacaoRequest request, Integer mes) {
+        if (mes == null || mes <= 0 || mes > request.prazoMeses()) {
+            throw new ValidacaoException(RegraValidacao.MES_FORA_DO_PRAZO,
+                    String.format("O mês deve estar entre 1 e o prazo da simulação (%d meses).", request.prazoMeses()));
+        }
+    }
+
+    private ProdutoEmprestimo validateProduto(SimulacaoRequest request, ProdutoEmprestimo produto) {
         if (produto == null) {
-            throw new IllegalArgumentException("Produto de empréstimo não encontrado para o ID informado.");
+            throw new ValidacaoException(RegraValidacao.PRODUTO_NAO_ENCONTRADO, "Produto de empréstimo não encontrado para o ID informado.");
         }
         if (request.prazoMeses() > produto.getPrazoMaximoMeses()) {
-            throw new IllegalArgumentException(
+            throw new ValidacaoException(RegraValidacao.PRAZO_ACIMA_DO_PRODUTO,
                     String.format("O prazo solicitado (%d meses) excede o prazo máximo do produto (%d meses).",
                             request.prazoMeses(), produto.getPrazoMaximoMeses()));
         }
         return produto;
     }
-}
\ No newline at end of file
+
+    // Em BigDecimal para que passos muito pequenos não estourem um int antes da comparação com o limite
+    private static BigDecimal quantidadeCelulas(GradeSimulacaoRequest request) {
+        return quantidadeValores(request).multiply(BigDecimal.valueOf(quantidadePrazos(request)));
+    }
+
+    // Os prazos formam uma progressão aritmética; a soma dá o número de parcelas de cada valor
+    private static BigDecimal quantidadeParcelas(GradeSimulacaoRequest request) {
+        long prazos = quantidadePrazos(request);
+        long ultimoPrazo = request.prazoMinimo() + (prazos - 1) * request.passoPrazo();
+        long somaPrazos = prazos * (request.prazoMinimo() + ultimoPrazo) / 2;
+        return quantidadeValores(request).multiply(BigDecimal.valueOf(somaPrazos));
+    }
+
+    private static BigDecimal quantidadeValores(GradeSimulacaoRequest request) {
+        BigDecimal amplitude = BigDecimal.valueOf(request.valorMaximo()).subtract(BigDecimal.valueOf(request.valorMinimo()));
+        return amplitude.divide(BigDecimal.valueOf(request.passoValor()), 0, RoundingMode.DOWN).add(BigDecimal.ONE);
+    }
+
+    private static long quantidadePrazos(GradeSimulacaoRequest request) {
+        return (request.prazoMaximo() - request.prazoMinimo()) / request.passoPrazo() + 1;
+    }
+}
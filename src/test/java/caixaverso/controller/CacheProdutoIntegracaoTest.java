@@ -0,0 +1,115 @@
+package caixaverso.controller;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Os demais testes rodam com os caches desligados; aqui eles ficam ligados e a invalidação após o commit
+// (ProdutoAlterado observado em AFTER_SUCCESS) é exercitada de ponta a ponta, pela API REST
+@QuarkusTest
+@TestProfile(CacheProdutoIntegracaoTest.CachesHabilitados.class)
+class CacheProdutoIntegracaoTest {
+
+    public static class CachesHabilitados implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "produto.cache.habilitado", "true",
+                    "simulacao.cache.habilitado", "true",
+                    "produto.json-cache.habilitado", "true");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve refletir a atualização do produto no GET, na ETag e na simulação repetida")
+    void deveRefletirAtualizacao_comCachesHabilitados() {
+
+        long id = cadastrar();
+        ExtractableResponse<Response> original = buscar(id, null);
+        String etagOriginal = original.header("ETag");
+        // O corpo sai comprimido com gzip, então a ETag precisa ser fraca
+        assertEquals("gzip", original.header("Content-Encoding"));
+        assertTrue(etagOriginal.startsWith("W/\""));
+        assertEquals(304, buscar(id, etagOriginal).statusCode());
+
+        String parcelaOriginal = simular(id).path("valorParcelaMensal");
+        long acertosSimulacao = estatisticaSimulacoes("acertos");
+        assertEquals(parcelaOriginal, simular(id).path("valorParcelaMensal"));
+        assertEquals(acertosSimulacao + 1, estatisticaSimulacoes("acertos"));
+        long simulacoesEmCache = estatisticaSimulacoes("tamanho");
+
+        given().contentType(ContentType.JSON)
+                .body("{\"nome\":\"Consignado\",\"taxaJurosAnual\":24.00,\"prazoMaximoMeses\":360}")
+                .when().put("/produtos/" + id)
+                .then().statusCode(200);
+        // A chave inclui a versão do produto; a remoção confirma que o evento também limpou as entradas antigas
+        assertEquals(simulacoesEmCache - 1, estatisticaSimulacoes("tamanho"));
+
+        ExtractableResponse<Response> atualizado = buscar(id, etagOriginal);
+        assertEquals(200, atualizado.statusCode());
+        assertEquals("Consignado", atualizado.path("nome"));
+        assertNotEquals(etagOriginal, atualizado.header("ETag"));
+        assertEquals(304, buscar(id, atualizado.header("ETag")).statusCode());
+
+        ExtractableResponse<Response> simulacao = simular(id);
+        assertEquals("24.00", simulacao.path("taxaJurosAnual"));
+        assertNotEquals(parcelaOriginal, simulacao.path("valorParcelaMensal"));
+    }
+
+    @Test
+    @DisplayName("Deve deixar de servir o produto excluído pelo GET, pela ETag e pela simulação")
+    void deveRefletirExclusao_comCachesHabilitados() {
+
+        long id = cadastrar();
+        String etag = buscar(id, null).header("ETag");
+        assertEquals(200, simular(id).statusCode());
+        assertEquals(200, simular(id).statusCode());
+
+        given().when().delete("/produtos/" + id).then().statusCode(204);
+
+        assertEquals(404, buscar(id, null).statusCode());
+        assertEquals(404, buscar(id, etag).statusCode());
+        ExtractableResponse<Response> simulacao = simular(id);
+        assertEquals(400, simulacao.statusCode());
+        assertEquals("Produto de empréstimo não encontrado para o ID informado.", simulacao.path("mensagem"));
+    }
+
+    private static long cadastrar() {
+        return given().contentType(ContentType.JSON)
+                .body("{\"nome\":\"Pessoal\",\"taxaJurosAnual\":12.68,\"prazoMaximoMeses\":360}")
+                .when().post("/produtos")
+                .then().statusCode(200)
+                .extract().<Number>path("id").longValue();
+    }
+
+    private static ExtractableResponse<Response> buscar(long id, String ifNoneMatch) {
+        var requisicao = given().accept(ContentType.JSON);
+        if (ifNoneMatch != null) {
+            requisicao.header("If-None-Match", ifNoneMatch);
+        }
+        return requisicao.when().get("/produtos/" + id).then().extract();
+    }
+
+    private static ExtractableResponse<Response> simular(long id) {
+        return given().contentType(ContentType.JSON).accept(ContentType.JSON)
+                .body("{\"idProduto\":" + id + ",\"valorSolicitado\":10000.00,\"prazoMeses\":24}")
+                .when().post("/simulacoes")
+                .then().extract();
+    }
+
+    private static long estatisticaSimulacoes(String campo) {
+        return given().accept(ContentType.JSON).when().get("/simulacoes/cache/estatisticas").then().statusCode(200)
+                .extract().<Number>path(campo).longValue();
+    }
+}
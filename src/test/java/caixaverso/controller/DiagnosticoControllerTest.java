@@ -0,0 +1,64 @@
+package caixaverso.controller;
+
+import caixaverso.dto.GravacaoJfrResponse;
+import caixaverso.observabilidade.GravacaoJfr;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class DiagnosticoControllerTest {
+
+    @Inject
+    DiagnosticoController controller;
+
+    @InjectMock
+    GravacaoJfr gravacaoJfr;
+
+    @Test
+    @DisplayName("Deve iniciar a gravação JFR")
+    void deveIniciarGravacao() {
+
+        Mockito.when(gravacaoJfr.iniciar()).thenReturn("RUNNING");
+
+        GravacaoJfrResponse response = controller.iniciar();
+
+        assertEquals("RUNNING", response.estado());
+        assertNull(response.arquivo());
+    }
+
+    @Test
+    @DisplayName("Deve parar a gravação JFR e informar o arquivo gerado")
+    void devePararGravacaoEInformarArquivo() {
+
+        Path arquivo = Path.of("/tmp/simulacoes.jfr");
+        Mockito.when(gravacaoJfr.parar()).thenReturn(arquivo);
+        Mockito.when(gravacaoJfr.estado()).thenReturn("CLOSED");
+
+        GravacaoJfrResponse response = controller.parar();
+
+        assertEquals("CLOSED", response.estado());
+        assertEquals(arquivo.toString(), response.arquivo());
+    }
+
+    @Test
+    @DisplayName("Deve despejar a gravação JFR sem interrompê-la")
+    void deveDespejarGravacao() {
+
+        Path arquivo = Path.of("/tmp/simulacoes.jfr");
+        Mockito.when(gravacaoJfr.despejar()).thenReturn(arquivo);
+        Mockito.when(gravacaoJfr.estado()).thenReturn("RUNNING");
+
+        GravacaoJfrResponse response = controller.despejar();
+
+        assertEquals("RUNNING", response.estado());
+        assertEquals(arquivo.toString(), response.arquivo());
+    }
+}
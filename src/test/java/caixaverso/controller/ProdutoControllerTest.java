@@ -1,19 +1,28 @@
 package caixaverso.controller;
 
+import caixaverso.dto.ErroImportacao;
+import caixaverso.dto.EstatisticasCacheResponse;
+import caixaverso.dto.FiltroProdutos;
+import caixaverso.dto.ImportacaoProdutosResponse;
+import caixaverso.dto.PaginaProdutos;
 import caixaverso.dto.ProdutoRequest;
+import caixaverso.dto.RespostaJson;
 import caixaverso.model.ProdutoEmprestimo;
 import caixaverso.service.ProdutoService;
+import caixaverso.util.CborProvider;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.math.BigDecimal;
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -50,54 +59,113 @@ class ProdutoControllerTest {
     }
 
     @Test
-    @DisplayName("Deve listar todos os produtos quando a lista não está vazia")
+    @DisplayName("Deve listar os produtos com o JSON serializado e a ETag")
     void deveListarTodosProdutos() {
 
-        List<ProdutoEmprestimo> listaProdutos = List.of(produto);
-        Mockito.when(produtoService.listarProdutos()).thenReturn(listaProdutos);
+        FiltroProdutos filtro = new FiltroProdutos(null, null, null, null, null, null);
+        byte[] corpo = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        Mockito.when(produtoService.listarProdutosJson(filtro)).thenReturn(new RespostaJson(corpo, "abc", null));
 
-        List<ProdutoEmprestimo> result = controller.listar();
+        Response response = controller.listar(null, null, null, null, null, null, null);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(produto, result.get(0));
-        Mockito.verify(produtoService).listarProdutos();
+        assertEquals(200, response.getStatus());
+        assertSame(corpo, response.getEntity());
+        assertEquals(new EntityTag("abc", true), response.getEntityTag());
+        assertNull(response.getHeaderString("X-Proximo-Cursor"));
+        Mockito.verify(produtoService).listarProdutosJson(filtro);
     }
 
     @Test
-    @DisplayName("Deve retornar uma lista vazia quando não há produtos cadastrados")
-    void deveRetornarListaVazia_quandoNaoExistemProdutos() {
+    @DisplayName("Deve repassar os filtros e informar o cursor da próxima página no cabeçalho")
+    void deveRepassarFiltrosEInformarProximoCursor() {
 
-        Mockito.when(produtoService.listarProdutos()).thenReturn(Collections.emptyList());
+        FiltroProdutos filtro = new FiltroProdutos(10L, 1, BigDecimal.ONE, BigDecimal.TEN, 12, "Crédito");
+        Mockito.when(produtoService.listarProdutosJson(filtro)).thenReturn(new RespostaJson(new byte[0], "abc", 1L));
 
-        List<ProdutoEmprestimo> result = controller.listar();
+        Response response = controller.listar(10L, 1, BigDecimal.ONE, BigDecimal.TEN, 12, "Crédito", null);
 
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
-        Mockito.verify(produtoService).listarProdutos();
+        assertEquals(200, response.getStatus());
+        assertEquals("1", response.getHeaderString("X-Proximo-Cursor"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 sem corpo quando a listagem não mudou desde a ETag enviada")
+    void deveResponderNaoModificado_quandoListagemNaoMudou() {
+
+        Mockito.when(produtoService.listarProdutosJson(any(FiltroProdutos.class)))
+                .thenReturn(new RespostaJson(new byte[0], "abc", 1L));
+
+        Response response = controller.listar(null, null, null, null, null, null, "\"xyz\", \"abc\"");
+
+        assertEquals(304, response.getStatus());
+        assertNull(response.getEntity());
+        assertEquals(new EntityTag("abc", true), response.getEntityTag());
+        assertEquals("1", response.getHeaderString("X-Proximo-Cursor"));
+    }
+
+    @Test
+    @DisplayName("Deve listar os produtos em CBOR sem passar pelo cache de JSON")
+    void deveListarProdutosEmCbor() {
+
+        ProdutoEmprestimo produto = new ProdutoEmprestimo("Crédito Pessoal", new BigDecimal("12.68"), 36);
+        FiltroProdutos filtro = new FiltroProdutos(null, 1, null, null, null, null);
+        Mockito.when(produtoService.listarProdutos(filtro)).thenReturn(new PaginaProdutos(List.of(produto), 1L));
+
+        Response response = controller.listarCbor(null, 1, null, null, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CborProvider.APPLICATION_CBOR, response.getMediaType().toString());
+        assertEquals(List.of(produto), response.getEntity());
+        assertEquals("1", response.getHeaderString("X-Proximo-Cursor"));
+        Mockito.verify(produtoService, Mockito.never()).listarProdutosJson(any(FiltroProdutos.class));
+    }
+
+    @Test
+    @DisplayName("Deve buscar um produto por ID em CBOR")
+    void deveListarPorIdEmCbor() {
+
+        ProdutoEmprestimo produto = new ProdutoEmprestimo("Crédito Pessoal", new BigDecimal("12.68"), 36);
+        Mockito.when(produtoService.listarPorId(1L)).thenReturn(produto);
+
+        Response response = controller.listarPorIdCbor(1L);
+
+        assertEquals(CborProvider.APPLICATION_CBOR, response.getMediaType().toString());
+        assertSame(produto, response.getEntity());
     }
 
     @Test
     @DisplayName("Deve listar um produto por ID quando encontrado")
     void deveListarPorId_quandoEncontrado() {
 
-        Mockito.when(produtoService.listarPorId(1L)).thenReturn(produto);
+        byte[] corpo = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        Mockito.when(produtoService.listarPorIdJson(1L)).thenReturn(new RespostaJson(corpo, "abc", null));
 
-        ProdutoEmprestimo result = controller.listarPorId(1L);
+        Response response = controller.listarPorId(1L, "\"outra\"");
 
-        assertNotNull(result);
-        assertEquals(produto.getId(), result.getId());
-        Mockito.verify(produtoService).listarPorId(1L);
+        assertEquals(200, response.getStatus());
+        assertSame(corpo, response.getEntity());
+        assertEquals(new EntityTag("abc", true), response.getEntityTag());
+        Mockito.verify(produtoService).listarPorIdJson(1L);
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 quando o produto não mudou desde a ETag enviada")
+    void deveResponderNaoModificado_quandoProdutoNaoMudou() {
+
+        Mockito.when(produtoService.listarPorIdJson(1L)).thenReturn(new RespostaJson(new byte[0], "abc", null));
+
+        assertEquals(304, controller.listarPorId(1L, "W/\"abc\"").getStatus());
+        assertEquals(304, controller.listarPorId(1L, "*").getStatus());
     }
 
     @Test
     @DisplayName("Deve lançar NotFoundException ao buscar um produto por ID inexistente")
     void deveLancarNotFound_quandoListarPorIdNaoEncontrado() {
 
-        Mockito.when(produtoService.listarPorId(anyLong())).thenThrow(new NotFoundException("Produto não encontrado"));
+        Mockito.when(produtoService.listarPorIdJson(anyLong())).thenThrow(new NotFoundException("Produto não encontrado"));
 
-        assertThrows(NotFoundException.class, () -> controller.listarPorId(99L));
-        Mockito.verify(produtoService).listarPorId(99L);
+        assertThrows(NotFoundException.class, () -> controller.listarPorId(99L, null));
+        Mockito.verify(produtoService).listarPorIdJson(99L);
     }
 
     @Test
@@ -145,4 +213,28 @@ class ProdutoControllerTest {
         assertThrows(NotFoundException.class, () -> controller.deletar(99L));
         Mockito.verify(produtoService).deletar(99L);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve retornar as estatísticas do cache de produtos")
+    void deveRetornarEstatisticasDoCache() {
+
+        EstatisticasCacheResponse estatisticas = new EstatisticasCacheResponse(10, 2, 0, 2);
+        Mockito.when(produtoService.estatisticasCache()).thenReturn(estatisticas);
+
+        assertEquals(estatisticas, controller.estatisticasCache());
+        Mockito.verify(produtoService).estatisticasCache();
+    }
+
+    @Test
+    @DisplayName("Deve repassar a importação em JSON e em CSV ao serviço")
+    void deveImportarProdutos() {
+
+        ImportacaoProdutosResponse importacao = new ImportacaoProdutosResponse(2, 1,
+                List.of(new ErroImportacao(2, "O nome do produto é obrigatório.")));
+        Mockito.when(produtoService.importar(List.of(produtoRequest))).thenReturn(importacao);
+        Mockito.when(produtoService.importarCsv("Crédito Pessoal,19.9,24")).thenReturn(importacao);
+
+        assertEquals(importacao, controller.importar(List.of(produtoRequest)));
+        assertEquals(importacao, controller.importarCsv("Crédito Pessoal,19.9,24"));
+    }
+}
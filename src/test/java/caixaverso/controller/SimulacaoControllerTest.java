@@ -1,23 +1,38 @@
 package caixaverso.controller;
 
+import caixaverso.dto.ComparacaoResponse;
+import caixaverso.dto.EstatisticasCacheResponse;
+import caixaverso.dto.GradeSimulacaoRequest;
+import caixaverso.dto.GradeSimulacaoResponse;
+import caixaverso.dto.SimulacaoCompactaResponse;
+import caixaverso.dto.SimulacaoLoteItem;
+import caixaverso.dto.SimulacaoLoteResponse;
 import caixaverso.dto.SimulacaoRequest;
 import caixaverso.dto.SimulacaoResponse;
+import caixaverso.dto.SimulacaoResponse.ParcelaDetalhe;
 import caixaverso.model.ProdutoEmprestimo;
 import caixaverso.service.SimulacaoService;
+import caixaverso.util.LeitorValorMonetario;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 
 @QuarkusTest
 class SimulacaoControllerTest {
@@ -33,7 +48,7 @@ class SimulacaoControllerTest {
 
     @BeforeEach
     void setup() {
-        simulacaoRequest = new SimulacaoRequest(1L, 10000.0, 12);
+        simulacaoRequest = new SimulacaoRequest(1L, 1000000L, 12);
 
         ProdutoEmprestimo mockProduto = new ProdutoEmprestimo("Produto Teste", new BigDecimal("10.00"), 12);
         mockProduto.setId(1L);
@@ -57,7 +72,7 @@ class SimulacaoControllerTest {
         Mockito.when(simulacaoService.simular(any(SimulacaoRequest.class)))
                 .thenReturn(simulacaoResponse);
 
-        Response response = controller.simular(simulacaoRequest);
+        Response response = controller.simular(simulacaoRequest, false);
 
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
         assertNotNull(response.getEntity());
@@ -68,4 +83,131 @@ class SimulacaoControllerTest {
 
         Mockito.verify(simulacaoService).simular(simulacaoRequest);
     }
+
+    @Test
+    @DisplayName("Deve simular um lote com sucesso e retornar status 200 OK")
+    void deveSimularLoteComSucesso() {
+
+        List<SimulacaoLoteItem> requests = List.of(SimulacaoLoteItem.de(simulacaoRequest));
+        List<SimulacaoLoteResponse> resultados = List.of(new SimulacaoLoteResponse(0, simulacaoResponse, null));
+        Mockito.when(simulacaoService.simularLote(anyList(), Mockito.eq(false))).thenReturn(resultados);
+
+        Response response = controller.simularLote(requests, false);
+
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(resultados, response.getEntity());
+        Mockito.verify(simulacaoService).simularLote(requests, false);
+    }
+
+    @Test
+    @DisplayName("Deve simular apenas o resumo quando solicitado")
+    void deveSimularResumo_quandoSolicitado() {
+
+        Mockito.when(simulacaoService.simularResumo(any(SimulacaoRequest.class)))
+                .thenReturn(simulacaoResponse);
+
+        Response response = controller.simular(simulacaoRequest, true);
+
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        Mockito.verify(simulacaoService).simularResumo(simulacaoRequest);
+        Mockito.verify(simulacaoService, Mockito.never()).simular(any(SimulacaoRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar a simulação compacta com o tipo de mídia próprio")
+    void deveSimularCompacta_comTipoDeMidiaProprio() {
+
+        SimulacaoCompactaResponse compacta = new SimulacaoCompactaResponse(1L, 12, "10.00", "0.800000",
+                1000000L, 1050000L, 87500L, null);
+        Mockito.when(simulacaoService.simularCompacta(simulacaoRequest, true)).thenReturn(compacta);
+
+        Response response = controller.simularCompacta(simulacaoRequest, true);
+
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(SimulacaoController.APPLICATION_SIMULACAO_COMPACTA, response.getMediaType().toString());
+        assertEquals(compacta, response.getEntity());
+    }
+
+    @Test
+    @DisplayName("Deve transmitir cada parcela da memória de cálculo como uma linha JSON")
+    @SuppressWarnings("unchecked")
+    void deveTransmitirParcelasComoNdjson() throws Exception {
+
+        ProdutoEmprestimo produto = simulacaoResponse.produto();
+        Mockito.when(simulacaoService.validar(simulacaoRequest)).thenReturn(produto);
+        Mockito.doAnswer(invocation -> {
+            Consumer<ParcelaDetalhe> destino = invocation.getArgument(2);
+            destino.accept(new ParcelaDetalhe(1, 50000L, 1000L, 50000L));
+            destino.accept(new ParcelaDetalhe(2, 50000L, 500L, 0L));
+            return null;
+        }).when(simulacaoService).simularParcelas(Mockito.eq(produto), Mockito.eq(simulacaoRequest), any(Consumer.class));
+
+        Response response = controller.simularParcelas(simulacaoRequest);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(saida);
+
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, linhas.length);
+        assertEquals("{\"mes\":1,\"amortizacao\":\"500.00\",\"juros\":\"10.00\",\"saldoDevedor\":\"500.00\"}", linhas[0]);
+        assertEquals("{\"mes\":2,\"amortizacao\":\"500.00\",\"juros\":\"5.00\",\"saldoDevedor\":\"0.00\"}", linhas[1]);
+        assertTrue(saida.toString(StandardCharsets.UTF_8).endsWith("\n"));
+    }
+
+    @Test
+    @DisplayName("Deve consultar a parcela de um mês a partir dos parâmetros da consulta")
+    void deveConsultarParcelaDoMes() {
+
+        ParcelaDetalhe parcela = new ParcelaDetalhe(3, 80000L, 7500L, 750000L);
+        Mockito.when(simulacaoService.simularParcela(simulacaoRequest, 3)).thenReturn(parcela);
+
+        ParcelaDetalhe result = controller.simularParcela(1L, "10000.0", 12, 3);
+
+        assertEquals(parcela, result);
+        Mockito.verify(simulacaoService).simularParcela(simulacaoRequest, 3);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar na consulta da parcela um valor com mais de duas casas decimais")
+    void deveRejeitarValorDaConsulta_comFracaoDeCentavo() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> controller.simularParcela(1L, "10000.001", 12, 3));
+
+        assertEquals(LeitorValorMonetario.MENSAGEM_FORMATO, exception.getMessage());
+        Mockito.verifyNoInteractions(simulacaoService);
+    }
+
+    @Test
+    @DisplayName("Deve retornar as estatísticas do cache de simulações")
+    void deveRetornarEstatisticasDoCache() {
+
+        EstatisticasCacheResponse estatisticas = new EstatisticasCacheResponse(3, 1, 0, 1);
+        Mockito.when(simulacaoService.estatisticasCache()).thenReturn(estatisticas);
+
+        assertEquals(estatisticas, controller.estatisticasCache());
+        assertEquals(0.75, estatisticas.taxaAcertos());
+        Mockito.verify(simulacaoService).estatisticasCache();
+    }
+
+    @Test
+    @DisplayName("Deve repassar o valor, o prazo, a ordenação e o top da comparação ao serviço")
+    void deveCompararProdutos() {
+
+        ComparacaoResponse comparacao = new ComparacaoResponse("10000.00", 12, "total", 1, List.of(simulacaoResponse));
+        Mockito.when(simulacaoService.comparar(new SimulacaoRequest(null, 1000000L, 12), "total", 3)).thenReturn(comparacao);
+
+        assertEquals(comparacao, controller.comparar("10000.00", 12, "total", 3));
+    }
+
+    @Test
+    @DisplayName("Deve repassar a grade e o modo resumo ao serviço")
+    void deveSimularGrade() {
+
+        GradeSimulacaoRequest request = new GradeSimulacaoRequest(1L, 1000.0, 2000.0, 500.0, 12, 24, 12);
+        GradeSimulacaoResponse grade = new GradeSimulacaoResponse(null, "10.00", "0.007974",
+                List.of("1000.00"), List.of(12), List.of());
+        Mockito.when(simulacaoService.simularGrade(request, true)).thenReturn(grade);
+
+        assertEquals(grade, controller.simularGrade(request, true));
+    }
 }
@@ -0,0 +1,91 @@
+package caixaverso.dao;
+
+import caixaverso.dto.EstatisticasCacheResponse;
+import caixaverso.model.ProdutoAlterado;
+import caixaverso.model.ProdutoEmprestimo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+
+class ProdutoCacheTest {
+
+    private ProdutoDao produtoDao;
+    private ProdutoCache produtoCache;
+    private ProdutoEmprestimo produto;
+
+    @BeforeEach
+    void setUp() {
+        produtoDao = Mockito.mock(ProdutoDao.class);
+        produtoCache = new ProdutoCache(produtoDao, true);
+
+        produto = new ProdutoEmprestimo("Crédito Pessoal", new BigDecimal("19.9"), 24);
+        produto.setId(1L);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco apenas na primeira leitura de um produto")
+    void deveConsultarBancoApenasNaPrimeiraLeitura() {
+
+        Mockito.when(produtoDao.listarPorId(1L)).thenReturn(produto);
+
+        ProdutoEmprestimo primeiro = produtoCache.buscarPorId(1L);
+        ProdutoEmprestimo segundo = produtoCache.buscarPorId(1L);
+
+        assertEquals("Crédito Pessoal", segundo.getNome());
+        assertNotSame(primeiro, segundo, "Cada leitura deve receber uma cópia do snapshot.");
+        Mockito.verify(produtoDao, times(1)).listarPorId(1L);
+
+        EstatisticasCacheResponse estatisticas = produtoCache.estatisticas();
+        assertEquals(1, estatisticas.acertos());
+        assertEquals(1, estatisticas.falhas());
+        assertEquals(1, estatisticas.tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o produto depois que ele é alterado")
+    void deveRecarregarProduto_quandoAlterado() {
+
+        Mockito.when(produtoDao.listarPorId(1L)).thenReturn(produto);
+        produtoCache.buscarPorId(1L);
+
+        ProdutoEmprestimo atualizado = new ProdutoEmprestimo("Crédito Atualizado", new BigDecimal("10.0"), 12);
+        atualizado.setId(1L);
+        Mockito.when(produtoDao.listarPorId(1L)).thenReturn(atualizado);
+        produtoCache.aoAlterarProduto(new ProdutoAlterado(1L));
+
+        assertEquals("Crédito Atualizado", produtoCache.buscarPorId(1L).getNome());
+        Mockito.verify(produtoDao, times(2)).listarPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar no cache produtos inexistentes")
+    void naoDeveGuardarProdutoInexistente() {
+
+        Mockito.when(produtoDao.listarPorId(99L)).thenReturn(null);
+
+        assertNull(produtoCache.buscarPorId(99L));
+        assertNull(produtoCache.buscarPorId(99L));
+
+        Mockito.verify(produtoDao, times(2)).listarPorId(99L);
+        assertEquals(0, produtoCache.estatisticas().tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve consultar sempre o banco quando o cache está desabilitado")
+    void deveConsultarSempreBanco_quandoCacheDesabilitado() {
+
+        ProdutoCache cacheDesabilitado = new ProdutoCache(produtoDao, false);
+        Mockito.when(produtoDao.listarPorId(1L)).thenReturn(produto);
+
+        assertSame(produto, cacheDesabilitado.buscarPorId(1L));
+        assertSame(produto, cacheDesabilitado.buscarPorId(1L));
+
+        Mockito.verify(produtoDao, times(2)).listarPorId(1L);
+    }
+}
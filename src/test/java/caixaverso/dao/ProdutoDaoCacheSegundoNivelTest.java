@@ -0,0 +1,103 @@
+package caixaverso.dao;
+
+import caixaverso.dto.FiltroProdutos;
+import caixaverso.model.ProdutoEmprestimo;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Usa o H2 real do perfil de teste para contar os comandos SQL enviados ao banco
+@QuarkusTest
+class ProdutoDaoCacheSegundoNivelTest {
+
+    private static final FiltroProdutos FILTRO_CACHE = new FiltroProdutos(null, null, null, null, null, "Crédito Cache");
+
+    @Inject
+    ProdutoDao produtoDao;
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        id = QuarkusTransaction.requiringNew().call(() -> produtoDao.cadastrar(
+                new ProdutoEmprestimo("Crédito Cache", new BigDecimal("12.00"), 48)).getId());
+
+        entityManagerFactory.getCache().evictAll();
+        estatisticas.clear();
+    }
+
+    @Test
+    @DisplayName("Deve buscar o produto no banco apenas na primeira leitura por ID")
+    void deveBuscarNoBancoApenasNaPrimeiraLeitura() {
+
+        ProdutoEmprestimo primeira = QuarkusTransaction.requiringNew().call(() -> produtoDao.listarPorId(id));
+        ProdutoEmprestimo segunda = QuarkusTransaction.requiringNew().call(() -> produtoDao.listarPorId(id));
+
+        assertEquals("Crédito Cache", primeira.getNome());
+        assertEquals("Crédito Cache", segunda.getNome());
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertEquals(1, estatisticas.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Deve refletir a atualização do produto na leitura seguinte")
+    void deveRefletirAtualizacaoNaLeituraSeguinte() {
+
+        QuarkusTransaction.requiringNew().call(() -> produtoDao.listarPorId(id));
+        QuarkusTransaction.requiringNew().run(() -> {
+            ProdutoEmprestimo produto = produtoDao.listarPorId(id);
+            produto.setPrazoMaximoMeses(12);
+            produtoDao.atualizar(produto);
+        });
+
+        ProdutoEmprestimo atualizado = QuarkusTransaction.requiringNew().call(() -> produtoDao.listarPorId(id));
+
+        assertEquals(12, atualizado.getPrazoMaximoMeses());
+    }
+
+    @Test
+    @DisplayName("Deve atender a listagem repetida pelo cache de consultas")
+    void deveAtenderListagemRepetidaPeloCacheDeConsultas() {
+
+        List<ProdutoEmprestimo> primeira = QuarkusTransaction.requiringNew().call(() -> produtoDao.listarProdutos(FILTRO_CACHE, 101));
+        long comandosPrimeiraLeitura = estatisticas.getPrepareStatementCount();
+        List<ProdutoEmprestimo> segunda = QuarkusTransaction.requiringNew().call(() -> produtoDao.listarProdutos(FILTRO_CACHE, 101));
+
+        assertEquals(primeira.size(), segunda.size());
+        assertEquals(1, comandosPrimeiraLeitura);
+        assertEquals(comandosPrimeiraLeitura, estatisticas.getPrepareStatementCount());
+        assertEquals(1, estatisticas.getQueryCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o cache de consultas quando um produto é cadastrado ou removido")
+    void deveInvalidarCacheDeConsultas_quandoProdutoCadastradoOuRemovido() {
+
+        int antes = QuarkusTransaction.requiringNew().call(() -> produtoDao.listarProdutos(FILTRO_CACHE, 101)).size();
+        Long novo = QuarkusTransaction.requiringNew().call(() -> produtoDao.cadastrar(
+                new ProdutoEmprestimo("Crédito Cache", new BigDecimal("15.00"), 24)).getId());
+        int depoisCadastro = QuarkusTransaction.requiringNew().call(() -> produtoDao.listarProdutos(FILTRO_CACHE, 101)).size();
+        QuarkusTransaction.requiringNew().run(() -> produtoDao.deletar(produtoDao.listarPorId(novo)));
+        int depoisRemocao = QuarkusTransaction.requiringNew().call(() -> produtoDao.listarProdutos(FILTRO_CACHE, 101)).size();
+
+        assertEquals(antes + 1, depoisCadastro);
+        assertEquals(antes, depoisRemocao);
+        assertEquals(0, estatisticas.getQueryCacheHitCount());
+    }
+}
@@ -1,16 +1,22 @@
 package caixaverso.dao;
 
+import caixaverso.dto.FiltroProdutos;
 import caixaverso.model.ProdutoEmprestimo;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -70,6 +76,24 @@ class ProdutoDaoTest {
         assertEquals(produto, result);
     }
 
+    @Test
+    @DisplayName("Deve persistir o lote ignorando o cache de segundo nível e liberar a sessão ao final")
+    void deveCadastrarLote() {
+
+        Session session = Mockito.mock(Session.class);
+        Mockito.when(entityManager.unwrap(Session.class)).thenReturn(session);
+        ProdutoEmprestimo outro = new ProdutoEmprestimo("Crédito Rural", new BigDecimal("8.5"), 60);
+
+        produtoDao.cadastrarLote(List.of(produto, outro));
+
+        InOrder ordem = Mockito.inOrder(session);
+        ordem.verify(session).setCacheMode(CacheMode.IGNORE);
+        ordem.verify(session).persist(produto);
+        ordem.verify(session).persist(outro);
+        ordem.verify(session).flush();
+        ordem.verify(session).clear();
+    }
+
     @Test
     @DisplayName("Deve chamar o método merge ao atualizar um produto")
     void deveAtualizarComSucesso() {
@@ -88,4 +112,64 @@ class ProdutoDaoTest {
 
         Mockito.verify(entityManager).remove(produto);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve listar a partir do cursor aplicando os filtros na consulta")
+    @SuppressWarnings("unchecked")
+    void deveListarAPartirDoCursorComFiltros() {
+
+        // O EntityManager injetado é uma Session do Hibernate, cujo createQuery devolve org.hibernate.query.Query
+        Query<ProdutoEmprestimo> query = Mockito.mock(Query.class, Mockito.RETURNS_SELF);
+        Mockito.when(entityManager.createQuery(any(String.class), eq(ProdutoEmprestimo.class))).thenReturn(query);
+        Mockito.when(query.getResultList()).thenReturn(List.of(produto));
+
+        FiltroProdutos filtro = new FiltroProdutos(5L, 10, BigDecimal.ONE, BigDecimal.TEN, 12, "Crédito_10%");
+        List<ProdutoEmprestimo> result = produtoDao.listarProdutos(filtro, 11);
+
+        assertEquals(List.of(produto), result);
+        Mockito.verify(entityManager).createQuery(
+                "FROM ProdutoEmprestimo p WHERE p.id > :apos"
+                        + " AND p.taxaJurosAnual >= :taxaMinima"
+                        + " AND p.taxaJurosAnual <= :taxaMaxima"
+                        + " AND p.prazoMaximoMeses >= :prazoMeses"
+                        + " AND p.nome LIKE :prefixoNome ESCAPE '\\'"
+                        + " ORDER BY p.id",
+                ProdutoEmprestimo.class);
+        Mockito.verify(query).setParameter("apos", 5L);
+        Mockito.verify(query).setParameter("prazoMeses", 12);
+        Mockito.verify(query).setParameter("prefixoNome", "Crédito\\_10\\%%");
+        Mockito.verify(query).setMaxResults(11);
+    }
+
+    @Test
+    @DisplayName("Deve listar desde o início quando não houver cursor nem filtros")
+    @SuppressWarnings("unchecked")
+    void deveListarDesdeOInicio_quandoSemCursorNemFiltros() {
+
+        Query<ProdutoEmprestimo> query = Mockito.mock(Query.class, Mockito.RETURNS_SELF);
+        Mockito.when(entityManager.createQuery(any(String.class), eq(ProdutoEmprestimo.class))).thenReturn(query);
+        Mockito.when(query.getResultList()).thenReturn(List.of());
+
+        produtoDao.listarProdutos(new FiltroProdutos(null, null, null, null, null, null), 101);
+
+        Mockito.verify(entityManager).createQuery("FROM ProdutoEmprestimo p WHERE p.id > :apos ORDER BY p.id", ProdutoEmprestimo.class);
+        Mockito.verify(query).setParameter("apos", 0L);
+    }
+
+    @Test
+    @DisplayName("Deve listar os produtos cujo prazo máximo atende o prazo informado")
+    @SuppressWarnings("unchecked")
+    void deveListarElegiveis() {
+
+        Query<ProdutoEmprestimo> query = Mockito.mock(Query.class, Mockito.RETURNS_SELF);
+        Mockito.when(entityManager.createQuery(any(String.class), eq(ProdutoEmprestimo.class))).thenReturn(query);
+        Mockito.when(query.getResultList()).thenReturn(List.of(produto));
+
+        List<ProdutoEmprestimo> result = produtoDao.listarElegiveis(24);
+
+        assertEquals(List.of(produto), result);
+        Mockito.verify(entityManager).createQuery(
+                "FROM ProdutoEmprestimo p WHERE p.prazoMaximoMeses >= :prazoMeses ORDER BY p.id", ProdutoEmprestimo.class);
+        Mockito.verify(query).setParameter("prazoMeses", 24);
+    }
+}
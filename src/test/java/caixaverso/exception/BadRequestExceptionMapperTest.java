@@ -1,6 +1,8 @@
 package caixaverso.exception;
 
 import caixaverso.dto.ErroResponse;
+import caixaverso.observabilidade.Metricas;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.DisplayName;
@@ -14,7 +16,8 @@ class BadRequestExceptionMapperTest {
     @DisplayName("Deve mapear BadRequestException para uma Response com status 400 e corpo ErroResponse")
     void deveMapearBadRequestExceptionParaResponseCorreta() {
 
-        var mapper = new BadRequestExceptionMapper();
+        var registry = new SimpleMeterRegistry();
+        var mapper = new BadRequestExceptionMapper(new Metricas(registry, 100));
         String mensagemErro = "O campo 'nome' é obrigatório.";
         var exception = new BadRequestException(mensagemErro);
 
@@ -28,5 +31,9 @@ class BadRequestExceptionMapperTest {
 
         assertEquals("Requisição inválida", erroResponse.tipo());
         assertEquals(mensagemErro, erroResponse.mensagem());
+        assertEquals(1.0, registry.get("simulacao.validacao.falhas")
+                .tag("tipo", "Requisição inválida")
+                .tag("regra", "outros")
+                .counter().count());
     }
 }
\ No newline at end of file
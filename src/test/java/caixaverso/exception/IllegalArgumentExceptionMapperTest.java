@@ -1,6 +1,8 @@
 package caixaverso.exception;
 
 import caixaverso.dto.ErroResponse;
+import caixaverso.observabilidade.Metricas;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,7 +15,8 @@ class IllegalArgumentExceptionMapperTest {
     @DisplayName("Deve mapear IllegalArgumentException para uma Response com status 400 e corpo ErroResponse")
     void deveMapearIllegalArgumentExceptionParaResponseCorreta() {
 
-        var mapper = new IllegalArgumentExceptionMapper();
+        var registry = new SimpleMeterRegistry();
+        var mapper = new IllegalArgumentExceptionMapper(new Metricas(registry, 100));
         String mensagemErro = "Produto de empréstimo não encontrado.";
         var exception = new IllegalArgumentException(mensagemErro);
 
@@ -27,5 +30,9 @@ class IllegalArgumentExceptionMapperTest {
 
         assertEquals("Erro de validação", erroResponse.tipo());
         assertEquals(mensagemErro, erroResponse.mensagem());
+        assertEquals(1.0, registry.get("simulacao.validacao.falhas")
+                .tag("tipo", "Erro de validação")
+                .tag("regra", "outros")
+                .counter().count());
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package caixaverso.exception;
+
+import caixaverso.dto.ErroResponse;
+import caixaverso.observabilidade.Metricas;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValorMonetarioInvalidoExceptionMapperTest {
+
+    @Test
+    @DisplayName("Deve mapear ValorMonetarioInvalidoException para 400 com a mensagem sem a posição do parser")
+    void deveMapearValorMonetarioInvalidoExceptionParaResponseCorreta() throws IOException {
+
+        var registry = new SimpleMeterRegistry();
+        var mapper = new ValorMonetarioInvalidoExceptionMapper(new Metricas(registry, 100));
+        String mensagemErro = "O valor solicitado deve ser menor ou igual a R$1.000.000,00.";
+        ValorMonetarioInvalidoException exception;
+        try (JsonParser parser = new ObjectMapper().createParser("{\"valorSolicitado\":1000000.01}")) {
+            parser.nextToken();
+            exception = new ValorMonetarioInvalidoException(parser,
+                    new ValidacaoException(RegraValidacao.VALOR_ACIMA_DO_LIMITE, mensagemErro));
+        }
+
+        Response response = mapper.toResponse(exception);
+
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        assertInstanceOf(ErroResponse.class, response.getEntity());
+        var erroResponse = (ErroResponse) response.getEntity();
+
+        assertEquals("Erro de validação", erroResponse.tipo());
+        assertEquals(mensagemErro, erroResponse.mensagem());
+        assertNotEquals(mensagemErro, exception.getMessage());
+        assertEquals(1.0, registry.get("simulacao.validacao.falhas")
+                .tag("tipo", "Erro de validação")
+                .tag("regra", "valor-acima-do-limite")
+                .counter().count());
+    }
+}
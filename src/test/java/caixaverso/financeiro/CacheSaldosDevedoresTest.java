@@ -0,0 +1,59 @@
+package caixaverso.financeiro;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSaldosDevedoresTest {
+
+    @Test
+    @DisplayName("Deve calcular os saldos de uma simulação apenas na primeira consulta")
+    void deveCalcularApenasNaPrimeiraConsulta() {
+
+        CacheSaldosDevedores<String, long[]> cache = new CacheSaldosDevedores<>(10);
+        AtomicInteger calculos = new AtomicInteger();
+
+        long[] primeira = cache.obter("a", chave -> saldos(calculos));
+        long[] segunda = cache.obter("a", chave -> saldos(calculos));
+
+        assertSame(primeira, segunda);
+        assertEquals(1, calculos.get());
+    }
+
+    @Test
+    @DisplayName("Deve manter o cache dentro do tamanho máximo")
+    void deveRespeitarTamanhoMaximo() {
+
+        CacheSaldosDevedores<Integer, long[]> cache = new CacheSaldosDevedores<>(3);
+        AtomicInteger calculos = new AtomicInteger();
+
+        for (int chave = 0; chave < 10; chave++) {
+            cache.obter(chave, c -> saldos(calculos));
+        }
+
+        assertEquals(3, cache.tamanho());
+        assertEquals(10, calculos.get());
+    }
+
+    @Test
+    @DisplayName("Deve calcular sempre quando o tamanho máximo é zero")
+    void deveCalcularSempre_quandoTamanhoZero() {
+
+        CacheSaldosDevedores<String, long[]> cache = new CacheSaldosDevedores<>(0);
+        AtomicInteger calculos = new AtomicInteger();
+
+        cache.obter("a", chave -> saldos(calculos));
+        cache.obter("a", chave -> saldos(calculos));
+
+        assertEquals(2, calculos.get());
+        assertEquals(0, cache.tamanho());
+    }
+
+    private static long[] saldos(AtomicInteger calculos) {
+        calculos.incrementAndGet();
+        return new long[]{100, 50};
+    }
+}
@@ -0,0 +1,193 @@
+package caixaverso.financeiro;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class CalculadoraEmprestimoCentavosTest {
+
+    @Inject
+    CalculadoraEmprestimoCentavos calculadora;
+
+    @Inject
+    CalculadoraEmprestimoPrice calculadoraPrice;
+
+    @Test
+    @DisplayName("Deve calcular corretamente um empréstimo com juros em centavos")
+    void deveCalcularCorretamente_comJuros() {
+
+        ResultadoCalculoEmprestimo resultado = calculadora.calcular(new BigDecimal("10000.00"), new BigDecimal("0.0099588018"), 24);
+
+        assertEquals(new BigDecimal("470.50"), resultado.valorParcela());
+        assertEquals(new BigDecimal("11292.12"), resultado.valorTotal());
+        assertEquals(24, resultado.memoriaCalculo().size());
+        assertEquals(new BigDecimal("0.00"), resultado.memoriaCalculo().get(23).saldoDevedor());
+    }
+
+    @Test
+    @DisplayName("Deve reproduzir exatamente a calculadora BigDecimal, inclusive a escala do valor solicitado")
+    void deveReproduzirCalculadoraBigDecimal() {
+
+        BigDecimal[] valores = {BigDecimal.valueOf(10000.0), new BigDecimal("1234.56"), new BigDecimal("1000000"), new BigDecimal("0.01")};
+        BigDecimal[] taxas = {BigDecimal.ZERO, new BigDecimal("0.0099588018"), new BigDecimal("0.1356115980")};
+
+        for (BigDecimal valor : valores) {
+            for (BigDecimal taxa : taxas) {
+                for (int prazo : new int[]{1, 2, 12, 59, 360}) {
+                    assertEquals(calculadoraPrice.calcular(valor, taxa, prazo), calculadora.calcular(valor, taxa, prazo),
+                            "Divergência para valor " + valor + ", taxa " + taxa + " e prazo " + prazo);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve delegar para a calculadora BigDecimal quando os valores não cabem em ponto fixo")
+    void deveDelegarParaCalculadoraBigDecimal_quandoForaDoPontoFixo() {
+
+        BigDecimal valorComFracaoDeCentavo = new BigDecimal("1000.005");
+        BigDecimal taxa = new BigDecimal("0.0099588018");
+
+        ResultadoCalculoEmprestimo resultado = calculadora.calcular(valorComFracaoDeCentavo, taxa, 12);
+
+        assertEquals(calculadoraPrice.calcular(valorComFracaoDeCentavo, taxa, 12), resultado);
+        assertTrue(calculadora.calcular(new BigDecimal("12000.00"), BigDecimal.ZERO, 0).memoriaCalculo().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve calcular o resumo com a mesma parcela e o mesmo total da memória de cálculo completa")
+    void deveCalcularResumo_comMesmoTotalDaMemoriaCompleta() {
+
+        BigDecimal[] valores = {BigDecimal.valueOf(10000.0), new BigDecimal("1234.56"), new BigDecimal("1000.005")};
+        BigDecimal[] taxas = {BigDecimal.ZERO, new BigDecimal("0.0099588018"), new BigDecimal("0.1356115980")};
+
+        for (BigDecimal valor : valores) {
+            for (BigDecimal taxa : taxas) {
+                for (int prazo : new int[]{1, 24, 360}) {
+                    ResultadoCalculoEmprestimo completo = calculadora.calcular(valor, taxa, prazo);
+                    ResultadoCalculoEmprestimo resumo = calculadora.calcularResumo(valor, taxa, prazo);
+
+                    assertEquals(completo.valorParcela(), resumo.valorParcela());
+                    assertEquals(completo.valorTotal(), resumo.valorTotal());
+                    assertTrue(resumo.memoriaCalculo().isEmpty());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve calcular a partir de centavos o mesmo resultado da calculadora BigDecimal com escala 2")
+    void deveCalcularCentavos_igualACalculadoraBigDecimal() {
+
+        long[] valores = {1L, 123456L, 1000000L, 100000000L};
+        BigDecimal[] taxas = {BigDecimal.ZERO, new BigDecimal("0.0099588018"), new BigDecimal("0.01234567891")};
+
+        for (long centavos : valores) {
+            BigDecimal valor = BigDecimal.valueOf(centavos, 2);
+            for (BigDecimal taxa : taxas) {
+                for (int prazo : new int[]{1, 24, 360}) {
+                    assertEquals(calculadoraPrice.calcular(valor, taxa, prazo), calculadora.calcularCentavos(centavos, taxa, prazo));
+                    assertEquals(calculadoraPrice.calcularResumo(valor, taxa, prazo),
+                            calculadora.calcularResumoCentavos(centavos, taxa, prazo));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve entregar ao visitante as mesmas parcelas da memória de cálculo")
+    void devePercorrerParcelas_iguaisAMemoriaDeCalculo() {
+
+        BigDecimal valor = new BigDecimal("10000.00");
+        BigDecimal taxa = new BigDecimal("0.0099588018");
+        List<ParcelaAmortizacao> visitadas = new ArrayList<>();
+
+        ResultadoCalculoEmprestimo resumo = calculadora.percorrerParcelas(valor, taxa, 360, visitadas::add);
+        ResultadoCalculoEmprestimo completo = calculadora.calcular(valor, taxa, 360);
+
+        assertEquals(completo.memoriaCalculo(), visitadas);
+        assertEquals(completo.valorTotal(), resumo.valorTotal());
+        assertTrue(resumo.memoriaCalculo().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve entregar ao visitante em centavos as mesmas parcelas da calculadora BigDecimal")
+    void devePercorrerParcelasCentavos_iguaisACalculadoraBigDecimal() {
+
+        long[] valores = {1L, 123456L, 100000000L};
+        BigDecimal[] taxas = {BigDecimal.ZERO, new BigDecimal("0.0099588018"), new BigDecimal("0.1356115980"),
+                new BigDecimal("0.00995880181234")};
+
+        for (long centavos : valores) {
+            for (BigDecimal taxa : taxas) {
+                for (int prazo : new int[]{1, 24, 360}) {
+                    List<long[]> esperadas = new ArrayList<>();
+                    ResultadoCalculoEmprestimo esperado = calculadoraPrice.percorrerParcelasCentavos(centavos, taxa, prazo,
+                            (numero, amortizacao, juros, saldoDevedor) -> esperadas.add(new long[]{numero, amortizacao, juros, saldoDevedor}));
+                    List<long[]> visitadas = new ArrayList<>();
+                    ResultadoCalculoEmprestimo resultado = calculadora.percorrerParcelasCentavos(centavos, taxa, prazo,
+                            (numero, amortizacao, juros, saldoDevedor) -> visitadas.add(new long[]{numero, amortizacao, juros, saldoDevedor}));
+
+                    assertEquals(prazo, visitadas.size());
+                    for (int i = 0; i < prazo; i++) {
+                        assertArrayEquals(esperadas.get(i), visitadas.get(i));
+                    }
+                    assertEquals(esperado.valorParcela(), resultado.valorParcela());
+                    assertEquals(esperado.valorTotal(), resultado.valorTotal());
+                    assertTrue(resultado.memoriaCalculo().isEmpty());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve calcular a parcela de qualquer mês igual à da memória de cálculo")
+    void deveCalcularParcelaDoMes_igualAMemoriaDeCalculo() {
+
+        BigDecimal[] valores = {BigDecimal.valueOf(10000.0), new BigDecimal("1000000.00")};
+        BigDecimal[] taxas = {BigDecimal.ZERO, new BigDecimal("0.0099588018"), new BigDecimal("0.1356115980")};
+
+        for (BigDecimal valor : valores) {
+            for (BigDecimal taxa : taxas) {
+                for (int prazo : new int[]{1, 37, 360}) {
+                    List<ParcelaAmortizacao> memoria = calculadora.calcular(valor, taxa, prazo).memoriaCalculo();
+                    for (int mes = 1; mes <= prazo; mes++) {
+                        assertEquals(memoria.get(mes - 1), calculadora.calcularParcela(valor, taxa, prazo, mes));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException quando o mês está fora do prazo")
+    void deveLancarExcecao_quandoMesForaDoPrazo() {
+
+        BigDecimal valor = new BigDecimal("10000.00");
+        BigDecimal taxa = new BigDecimal("0.0099588018");
+
+        assertThrows(IllegalArgumentException.class, () -> calculadora.calcularParcela(valor, taxa, 12, 0));
+        assertThrows(IllegalArgumentException.class, () -> calculadora.calcularParcela(valor, taxa, 12, 13));
+    }
+
+    @Test
+    @DisplayName("Deve produzir o mesmo resultado com o fator de anuidade calculado uma vez por prazo")
+    void deveProduzirMesmoResultado_comFatorAnuidade() {
+
+        FatorAnuidade fator = calculadora.calcularFatorAnuidade(new BigDecimal("0.0099588018"), 120);
+
+        for (BigDecimal valor : new BigDecimal[]{new BigDecimal("1234.56"), BigDecimal.valueOf(10000.0), new BigDecimal("0.001")}) {
+            assertEquals(calculadoraPrice.calcular(valor, new BigDecimal("0.0099588018"), 120), calculadora.calcular(valor, fator));
+            assertEquals(calculadoraPrice.calcularResumo(valor, new BigDecimal("0.0099588018"), 120).valorTotal(),
+                    calculadora.calcularResumo(valor, fator).valorTotal());
+        }
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.math.RoundingMode;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -78,4 +80,111 @@ class CalculadoraEmprestimoPriceTest {
         assertEquals(BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP), resultado.valorTotal());
         assertTrue(resultado.memoriaCalculo().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve produzir os mesmos valores com precisão limitada e com aritmética exata")
+    void deveProduzirMesmosValores_comPrecisaoLimitadaEExata() {
+
+        CalculadoraEmprestimoPrice exata = new CalculadoraEmprestimoPrice(0, 0);
+        BigDecimal[] taxas = {
+                new BigDecimal("0.0000000001"),
+                new BigDecimal("0.0099588018"),
+                new BigDecimal("0.0153094705"),
+                new BigDecimal("0.1355468120")
+        };
+        BigDecimal[] valores = {new BigDecimal("0.01"), new BigDecimal("1234.56"), new BigDecimal("1000000.00")};
+
+        for (BigDecimal taxa : taxas) {
+            for (BigDecimal valor : valores) {
+                for (int prazo = 1; prazo <= 360; prazo += 7) {
+                    ResultadoCalculoEmprestimo esperado = exata.calcular(valor, taxa, prazo);
+                    ResultadoCalculoEmprestimo resultado = calculadora.calcular(valor, taxa, prazo);
+
+                    assertEquals(esperado, resultado, "Divergência para valor " + valor + ", taxa " + taxa + " e prazo " + prazo);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve calcular o resumo com a mesma parcela e o mesmo total da memória de cálculo completa")
+    void deveCalcularResumo_comMesmoTotalDaMemoriaCompleta() {
+
+        BigDecimal[] valores = {BigDecimal.valueOf(10000.0), new BigDecimal("1234.56"), new BigDecimal("1000.005")};
+        BigDecimal[] taxas = {BigDecimal.ZERO, new BigDecimal("0.0099588018"), new BigDecimal("0.1356115980")};
+
+        for (BigDecimal valor : valores) {
+            for (BigDecimal taxa : taxas) {
+                for (int prazo : new int[]{1, 24, 360}) {
+                    ResultadoCalculoEmprestimo completo = calculadora.calcular(valor, taxa, prazo);
+                    ResultadoCalculoEmprestimo resumo = calculadora.calcularResumo(valor, taxa, prazo);
+
+                    assertEquals(completo.valorParcela(), resumo.valorParcela());
+                    assertEquals(completo.valorTotal(), resumo.valorTotal());
+                    assertTrue(resumo.memoriaCalculo().isEmpty());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve entregar ao visitante as mesmas parcelas da memória de cálculo")
+    void devePercorrerParcelas_iguaisAMemoriaDeCalculo() {
+
+        BigDecimal valor = new BigDecimal("10000.00");
+        BigDecimal taxa = new BigDecimal("0.0099588018");
+        List<ParcelaAmortizacao> visitadas = new ArrayList<>();
+
+        ResultadoCalculoEmprestimo resumo = calculadora.percorrerParcelas(valor, taxa, 360, visitadas::add);
+        ResultadoCalculoEmprestimo completo = calculadora.calcular(valor, taxa, 360);
+
+        assertEquals(completo.memoriaCalculo(), visitadas);
+        assertEquals(completo.valorTotal(), resumo.valorTotal());
+        assertTrue(resumo.memoriaCalculo().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve calcular a parcela de qualquer mês igual à da memória de cálculo")
+    void deveCalcularParcelaDoMes_igualAMemoriaDeCalculo() {
+
+        BigDecimal[] valores = {BigDecimal.valueOf(10000.0), new BigDecimal("1000000.00")};
+        BigDecimal[] taxas = {BigDecimal.ZERO, new BigDecimal("0.0099588018"), new BigDecimal("0.1356115980")};
+
+        for (BigDecimal valor : valores) {
+            for (BigDecimal taxa : taxas) {
+                for (int prazo : new int[]{1, 37, 360}) {
+                    List<ParcelaAmortizacao> memoria = calculadora.calcular(valor, taxa, prazo).memoriaCalculo();
+                    for (int mes = 1; mes <= prazo; mes++) {
+                        assertEquals(memoria.get(mes - 1), calculadora.calcularParcela(valor, taxa, prazo, mes));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException quando o mês está fora do prazo")
+    void deveLancarExcecao_quandoMesForaDoPrazo() {
+
+        BigDecimal valor = new BigDecimal("10000.00");
+        BigDecimal taxa = new BigDecimal("0.0099588018");
+
+        assertThrows(IllegalArgumentException.class, () -> calculadora.calcularParcela(valor, taxa, 12, 0));
+        assertThrows(IllegalArgumentException.class, () -> calculadora.calcularParcela(valor, taxa, 12, 13));
+    }
+
+    @Test
+    @DisplayName("Deve produzir o mesmo resultado reaproveitando o fator de anuidade do prazo para vários valores")
+    void deveProduzirMesmoResultado_comFatorAnuidadeReaproveitado() {
+
+        for (BigDecimal taxa : new BigDecimal[]{BigDecimal.ZERO, new BigDecimal("0.0099588018"), new BigDecimal("0.1356115980")}) {
+            for (int prazo : new int[]{1, 24, 360}) {
+                FatorAnuidade fator = calculadora.calcularFatorAnuidade(taxa, prazo);
+                for (BigDecimal valor : new BigDecimal[]{new BigDecimal("0.01"), BigDecimal.valueOf(10000.0), new BigDecimal("1000000")}) {
+                    assertEquals(calculadora.calcular(valor, taxa, prazo), calculadora.calcular(valor, fator));
+                    assertEquals(calculadora.calcularResumo(valor, taxa, prazo), calculadora.calcularResumo(valor, fator));
+                }
+            }
+        }
+    }
+}
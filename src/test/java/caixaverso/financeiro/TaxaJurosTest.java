@@ -0,0 +1,25 @@
+package caixaverso.financeiro;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaxaJurosTest {
+
+    @Test
+    @DisplayName("Deve converter a taxa anual na taxa mensal equivalente com escala 10")
+    void deveConverterTaxaAnualEmMensalEquivalente() {
+
+        assertEquals(new BigDecimal("0.0099981304"), TaxaJuros.calcularTaxaMensalEquivalente(new BigDecimal("12.68")));
+    }
+
+    @Test
+    @DisplayName("Deve retornar taxa mensal zero quando a taxa anual for zero")
+    void deveRetornarZero_quandoTaxaAnualZero() {
+
+        assertEquals(new BigDecimal("0E-10"), TaxaJuros.calcularTaxaMensalEquivalente(BigDecimal.ZERO));
+    }
+}
@@ -0,0 +1,24 @@
+package caixaverso.financeiro;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class VerificadorCalculadoraCentavosTest {
+
+    @Inject
+    VerificadorCalculadoraCentavos verificador;
+
+    @Test
+    @DisplayName("Deve verificar a calculadora em centavos em todos os prazos do domínio")
+    void deveVerificarTodosOsPrazosDoDominio() {
+
+        int verificados = assertDoesNotThrow(() -> verificador.verificar(3, 7L));
+
+        assertEquals(VerificadorCalculadoraCentavos.PRAZO_MAXIMO * (7 * 5 + 3), verificados);
+    }
+}
@@ -0,0 +1,104 @@
+package caixaverso.observabilidade;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.NotFoundException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GravacaoJfrTest {
+
+    @TempDir
+    Path diretorio;
+
+    private GravacaoJfr gravacaoJfr;
+
+    @BeforeEach
+    void setUp() {
+        gravacaoJfr = new GravacaoJfr(true, diretorio.toString(), "default");
+    }
+
+    @AfterEach
+    void tearDown() {
+        gravacaoJfr.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve gravar os eventos de simulação e de consulta em arquivo ao parar a gravação")
+    void deveGravarEventosAoParar() throws Exception {
+
+        assertEquals("RUNNING", gravacaoJfr.iniciar());
+
+        SimulacaoEvento simulacao = new SimulacaoEvento();
+        simulacao.begin();
+        simulacao.idProduto = 7L;
+        simulacao.prazoMeses = 24;
+        simulacao.parcelas = 24;
+        simulacao.commit();
+
+        ConsultaProdutoEvento consulta = new ConsultaProdutoEvento();
+        consulta.begin();
+        consulta.operacao = "listarPorId";
+        consulta.linhas = 1;
+        consulta.commit();
+
+        Path arquivo = gravacaoJfr.parar();
+
+        assertTrue(Files.exists(arquivo));
+        assertEquals("CLOSED", gravacaoJfr.estado());
+
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(arquivo);
+        RecordedEvent gravada = eventos.stream()
+                .filter(evento -> evento.getEventType().getName().equals("caixaverso.Simulacao"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(7L, gravada.getLong("idProduto"));
+        assertEquals(24, gravada.getInt("prazoMeses"));
+        assertTrue(eventos.stream().anyMatch(evento -> evento.getEventType().getName().equals("caixaverso.ConsultaProduto")
+                && "listarPorId".equals(evento.getString("operacao"))));
+    }
+
+    @Test
+    @DisplayName("Deve despejar a gravação em arquivo sem interrompê-la")
+    void deveDespejarSemInterromper() {
+
+        gravacaoJfr.iniciar();
+
+        Path arquivo = gravacaoJfr.despejar();
+
+        assertTrue(Files.exists(arquivo));
+        assertEquals("RUNNING", gravacaoJfr.estado());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar operações fora de ordem")
+    void deveRejeitarOperacoesForaDeOrdem() {
+
+        assertThrows(BadRequestException.class, () -> gravacaoJfr.parar());
+        assertThrows(BadRequestException.class, () -> gravacaoJfr.despejar());
+
+        gravacaoJfr.iniciar();
+
+        assertThrows(BadRequestException.class, () -> gravacaoJfr.iniciar());
+    }
+
+    @Test
+    @DisplayName("Deve lançar NotFoundException quando o diagnóstico estiver desabilitado")
+    void deveLancarNotFound_quandoDesabilitado() {
+
+        GravacaoJfr desabilitada = new GravacaoJfr(false, diretorio.toString(), "default");
+
+        assertThrows(NotFoundException.class, desabilitada::iniciar);
+        assertThrows(NotFoundException.class, desabilitada::estado);
+    }
+}
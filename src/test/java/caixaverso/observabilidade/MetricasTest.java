@@ -0,0 +1,105 @@
+package caixaverso.observabilidade;
+
+import caixaverso.exception.RegraValidacao;
+import caixaverso.exception.ValidacaoException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricasTest {
+
+    private SimpleMeterRegistry registry;
+    private Metricas metricas;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metricas = new Metricas(registry, 100);
+    }
+
+    @Test
+    @DisplayName("Deve registrar a duração da fase com as tags de faixa de prazo e produto")
+    void deveRegistrarFaseComTags() {
+
+        metricas.registrarFase(Metricas.FASE_CALCULO, 24, 1L, System.nanoTime());
+        metricas.registrarFase(Metricas.FASE_CALCULO, 36, 1L, System.nanoTime());
+        metricas.registrarFase(Metricas.FASE_CALCULO, 360, 2L, System.nanoTime());
+
+        Timer timer = registry.get("simulacao.fase")
+                .tag("fase", "calculo")
+                .tag("faixa_prazo", "13-60")
+                .tag("produto", "1")
+                .timer();
+        assertEquals(2, timer.count());
+        assertEquals(2, registry.get("simulacao.fase").timers().size());
+    }
+
+    @Test
+    @DisplayName("Deve classificar o prazo em faixas")
+    void deveClassificarPrazoEmFaixas() {
+
+        assertEquals("invalido", Metricas.faixaPrazo(null));
+        assertEquals("invalido", Metricas.faixaPrazo(0));
+        assertEquals("1-12", Metricas.faixaPrazo(12));
+        assertEquals("13-60", Metricas.faixaPrazo(13));
+        assertEquals("61-120", Metricas.faixaPrazo(120));
+        assertEquals("121-240", Metricas.faixaPrazo(240));
+        assertEquals("241-360", Metricas.faixaPrazo(360));
+        assertEquals("acima-360", Metricas.faixaPrazo(361));
+    }
+
+    @Test
+    @DisplayName("Deve identificar as falhas de validação pelo código da regra, sem a mensagem")
+    void deveIdentificarFalhasPelaRegra() {
+
+        metricas.registrarFalhaValidacao("Erro de validação", RegraValidacao.de(
+                new ValidacaoException(RegraValidacao.PRAZO_ACIMA_DO_PRODUTO, "Prazo acima de 24 meses")));
+        metricas.registrarFalhaValidacao("Erro de validação", RegraValidacao.de(
+                new ValidacaoException(RegraValidacao.PRAZO_ACIMA_DO_PRODUTO, "Prazo acima de 36 meses")));
+        metricas.registrarFalhaValidacao("Erro de validação", RegraValidacao.de(
+                new ValidacaoException(RegraValidacao.VALOR_NAO_POSITIVO, "Valor inválido: -1")));
+        metricas.registrarFalhaValidacao("Erro de validação", RegraValidacao.de(new IllegalStateException("abc")));
+        metricas.registrarFalhaValidacao("Erro de validação", null);
+
+        assertEquals(3, registry.get("simulacao.validacao.falhas").counters().size());
+        assertEquals(2.0, registry.get("simulacao.validacao.falhas")
+                .tag("tipo", "Erro de validação")
+                .tag("regra", "prazo-acima-do-produto")
+                .counter().count());
+        assertEquals(1.0, registry.get("simulacao.validacao.falhas").tag("regra", "valor-nao-positivo").counter().count());
+        assertEquals(2.0, registry.get("simulacao.validacao.falhas").tag("regra", "outros").counter().count());
+        assertTrue(registry.getMeters().stream().noneMatch(medidor -> medidor.getId().getTag("mensagem") != null));
+    }
+
+    @Test
+    @DisplayName("Deve agrupar em \"outros\" os produtos que passam do limite de tags")
+    void deveAgruparProdutosAcimaDoLimite() {
+
+        Metricas limitada = new Metricas(registry, 2);
+
+        limitada.registrarFase(Metricas.FASE_CALCULO, 12, 1L, System.nanoTime());
+        limitada.registrarFase(Metricas.FASE_CALCULO, 12, 2L, System.nanoTime());
+        limitada.registrarFase(Metricas.FASE_CALCULO, 12, 3L, System.nanoTime());
+        limitada.registrarFase(Metricas.FASE_CALCULO, 12, 4L, System.nanoTime());
+        limitada.registrarFase(Metricas.FASE_CALCULO, 12, 1L, System.nanoTime());
+        limitada.registrarFase(Metricas.FASE_CALCULO, 12, null, System.nanoTime());
+
+        assertEquals(2, registry.get("simulacao.fase").tag("produto", "1").timer().count());
+        assertEquals(2, registry.get("simulacao.fase").tag("produto", Metricas.OUTROS_PRODUTOS).timer().count());
+        assertEquals(1, registry.get("simulacao.fase").tag("produto", Metricas.PRODUTO_DESCONHECIDO).timer().count());
+        assertEquals(4, registry.get("simulacao.fase").timers().size());
+    }
+
+    @Test
+    @DisplayName("Deve registrar a duração das consultas do DAO por operação")
+    void deveRegistrarConsultaPorOperacao() {
+
+        metricas.registrarConsulta("listarPorId", System.nanoTime());
+
+        assertEquals(1, registry.get("produto.dao.consulta").tag("operacao", "listarPorId").timer().count());
+    }
+}
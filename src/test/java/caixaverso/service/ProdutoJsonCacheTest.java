@@ -0,0 +1,139 @@
+package caixaverso.service;
+
+import caixaverso.dto.FiltroProdutos;
+import caixaverso.dto.PaginaProdutos;
+import caixaverso.dto.RespostaJson;
+import caixaverso.model.ProdutoAlterado;
+import caixaverso.model.ProdutoEmprestimo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProdutoJsonCacheTest {
+
+    private final FiltroProdutos filtro = new FiltroProdutos(null, 100, null, null, null, null);
+
+    private ProdutoJsonCache cache;
+    private ProdutoEmprestimo produto;
+    private AtomicInteger cargas;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProdutoJsonCache(new ObjectMapper(), true, 2);
+        produto = new ProdutoEmprestimo("Crédito Pessoal", new BigDecimal("19.9"), 24);
+        produto.setId(1L);
+        cargas = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Deve serializar o produto apenas na primeira leitura e reaproveitar os bytes")
+    void deveSerializarApenasNaPrimeiraLeitura() {
+
+        RespostaJson primeira = cache.produto(1L, this::carregarProduto);
+        RespostaJson segunda = cache.produto(1L, this::carregarProduto);
+
+        assertSame(primeira, segunda);
+        assertEquals(1, cargas.get());
+        assertTrue(new String(primeira.corpo(), StandardCharsets.UTF_8).contains("\"nome\":\"Crédito Pessoal\""));
+        assertEquals(32, primeira.etag().length());
+    }
+
+    @Test
+    @DisplayName("Deve gerar a mesma ETag para o mesmo conteúdo e outra quando o conteúdo muda")
+    void deveGerarEtagPeloConteudo() {
+
+        RespostaJson original = cache.produto(1L, this::carregarProduto);
+        cache.invalidar(1L);
+        RespostaJson recarregado = cache.produto(1L, this::carregarProduto);
+        cache.invalidar(1L);
+        produto.setNome("Crédito Consignado");
+        RespostaJson alterado = cache.produto(1L, this::carregarProduto);
+
+        assertEquals(original.etag(), recarregado.etag());
+        assertNotEquals(original.etag(), alterado.etag());
+        assertEquals(3, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Deve guardar a listagem com o cursor e descartá-la quando qualquer produto mudar")
+    void deveInvalidarListagensAoAlterarProduto() {
+
+        RespostaJson primeira = cache.listagem(filtro, this::carregarPagina);
+        RespostaJson segunda = cache.listagem(filtro, this::carregarPagina);
+        cache.aoAlterarProduto(new ProdutoAlterado(99L));
+        RespostaJson terceira = cache.listagem(filtro, this::carregarPagina);
+
+        assertSame(primeira, segunda);
+        assertNotSame(primeira, terceira);
+        assertEquals(1L, terceira.proximoCursor());
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Deve descartar a listagem usada há mais tempo ao atingir o limite")
+    void deveDescartarListagemMaisAntiga() {
+
+        FiltroProdutos segundo = new FiltroProdutos(1L, 100, null, null, null, null);
+        FiltroProdutos terceiro = new FiltroProdutos(2L, 100, null, null, null, null);
+
+        cache.listagem(filtro, this::carregarPagina);
+        cache.listagem(segundo, this::carregarPagina);
+        cache.listagem(terceiro, this::carregarPagina);
+        cache.listagem(terceiro, this::carregarPagina);
+        cache.listagem(filtro, this::carregarPagina);
+
+        assertEquals(4, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar uma entrada carregada durante uma invalidação concorrente")
+    void naoDeveGuardarEntradaCarregadaDuranteInvalidacao() {
+
+        cache.produto(1L, () -> {
+            ProdutoEmprestimo carregado = carregarProduto();
+            cache.invalidar(1L);
+            return carregado;
+        });
+        cache.listagem(filtro, () -> {
+            PaginaProdutos carregada = carregarPagina();
+            cache.invalidarListagens();
+            return carregada;
+        });
+        cache.produto(1L, this::carregarProduto);
+        cache.listagem(filtro, this::carregarPagina);
+
+        assertEquals(4, cargas.get());
+    }
+
+    @Test
+    @DisplayName("Deve serializar a cada leitura quando o cache está desabilitado")
+    void deveSerializarSempre_quandoDesabilitado() {
+
+        ProdutoJsonCache desabilitado = new ProdutoJsonCache(new ObjectMapper(), false, 2);
+
+        desabilitado.produto(1L, this::carregarProduto);
+        desabilitado.produto(1L, this::carregarProduto);
+        desabilitado.listagem(filtro, this::carregarPagina);
+        desabilitado.listagem(filtro, this::carregarPagina);
+
+        assertEquals(4, cargas.get());
+    }
+
+    private ProdutoEmprestimo carregarProduto() {
+        cargas.incrementAndGet();
+        return produto;
+    }
+
+    private PaginaProdutos carregarPagina() {
+        cargas.incrementAndGet();
+        return new PaginaProdutos(List.of(produto), 1L);
+    }
+}
@@ -1,7 +1,15 @@
 package caixaverso.service;
 
+import caixaverso.dao.ProdutoCache;
 import caixaverso.dao.ProdutoDao;
+import caixaverso.dto.ErroImportacao;
+import caixaverso.dto.EstatisticasCacheResponse;
+import caixaverso.dto.FiltroProdutos;
+import caixaverso.dto.ImportacaoProdutosResponse;
+import caixaverso.dto.PaginaProdutos;
 import caixaverso.dto.ProdutoRequest;
+import caixaverso.dto.RespostaJson;
+import caixaverso.financeiro.TaxaJuros;
 import caixaverso.model.ProdutoEmprestimo;
 import caixaverso.validator.ProdutoValidator;
 import io.quarkus.test.InjectMock;
@@ -15,13 +23,20 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @QuarkusTest
@@ -36,6 +51,12 @@ class ProdutoServiceTest {
     @InjectMock
     ProdutoValidator produtoValidator;
 
+    @InjectMock
+    ProdutoCache produtoCache;
+
+    @InjectMock
+    ProdutoJsonCache produtoJsonCache;
+
     private ProdutoEmprestimo produto;
     private ProdutoRequest produtoRequest;
 
@@ -58,27 +79,48 @@ class ProdutoServiceTest {
     @DisplayName("Deve listar produtos com sucesso")
     void deveListarProdutos() {
 
-        List<ProdutoEmprestimo> lista = List.of(produto);
-        Mockito.when(produtoDao.listarProdutos()).thenReturn(lista);
+        FiltroProdutos filtro = new FiltroProdutos(null, null, null, null, null, null);
+        Mockito.when(produtoDao.listarProdutos(filtro, 101)).thenReturn(List.of(produto));
 
-        List<ProdutoEmprestimo> result = produtoService.listarProdutos();
+        PaginaProdutos result = produtoService.listarProdutos(filtro);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(produtoDao).listarProdutos();
+        assertEquals(1, result.produtos().size());
+        assertNull(result.proximoCursor());
+        verify(produtoValidator).validateFiltro(filtro, 100, 500);
+        verify(produtoDao).listarProdutos(filtro, 101);
     }
 
     @Test
     @DisplayName("Deve retornar lista vazia quando não há produtos")
     void deveRetornarListaVazia() {
 
-        Mockito.when(produtoDao.listarProdutos()).thenReturn(Collections.emptyList());
+        FiltroProdutos filtro = new FiltroProdutos(null, null, null, null, null, null);
+        Mockito.when(produtoDao.listarProdutos(filtro, 101)).thenReturn(Collections.emptyList());
 
-        List<ProdutoEmprestimo> result = produtoService.listarProdutos();
+        PaginaProdutos result = produtoService.listarProdutos(filtro);
 
         assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(produtoDao).listarProdutos();
+        assertTrue(result.produtos().isEmpty());
+        assertNull(result.proximoCursor());
+        verify(produtoDao).listarProdutos(filtro, 101);
+    }
+
+    @Test
+    @DisplayName("Deve informar o cursor da próxima página quando houver mais produtos que o limite")
+    void deveInformarProximoCursor_quandoHouverMaisProdutos() {
+
+        ProdutoEmprestimo segundo = new ProdutoEmprestimo("Crédito Consignado", new BigDecimal("12.0"), 48);
+        segundo.setId(5L);
+        ProdutoEmprestimo terceiro = new ProdutoEmprestimo("Crédito Imobiliário", new BigDecimal("9.0"), 360);
+        terceiro.setId(9L);
+        FiltroProdutos filtro = new FiltroProdutos(null, 2, null, null, null, null);
+        Mockito.when(produtoDao.listarProdutos(filtro, 3)).thenReturn(List.of(produto, segundo, terceiro));
+
+        PaginaProdutos result = produtoService.listarProdutos(filtro);
+
+        assertEquals(List.of(produto, segundo), result.produtos());
+        assertEquals(5L, result.proximoCursor());
     }
 
     @Test
@@ -118,6 +160,21 @@ class ProdutoServiceTest {
         verify(produtoDao).cadastrar(any(ProdutoEmprestimo.class));
     }
 
+    @Test
+    @DisplayName("Deve gravar a taxa mensal equivalente ao cadastrar e atualizar o produto")
+    void deveGravarTaxaMensalEquivalente() {
+
+        Mockito.when(produtoDao.cadastrar(any(ProdutoEmprestimo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Mockito.when(produtoDao.listarPorId(1L)).thenReturn(produto);
+        Mockito.when(produtoDao.atualizar(any(ProdutoEmprestimo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ProdutoEmprestimo cadastrado = produtoService.cadastrar(produtoRequest);
+        ProdutoEmprestimo atualizado = produtoService.atualizar(1L, new ProdutoRequest("Crédito Pessoal", new BigDecimal("12.68"), 24));
+
+        assertEquals(TaxaJuros.calcularTaxaMensalEquivalente(new BigDecimal("19.9")), cadastrado.getTaxaJurosMensal());
+        assertEquals(new BigDecimal("0.0099981304"), atualizado.getTaxaJurosMensal());
+    }
+
     @Test
     @DisplayName("Deve lançar exceção ao cadastrar produto inválido")
     void deveLancarExcecaoAoCadastrarProdutoInvalido() {
@@ -177,4 +234,132 @@ class ProdutoServiceTest {
         verify(produtoDao).listarPorId(99L);
         verify(produtoDao, never()).deletar(any(ProdutoEmprestimo.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve buscar a listagem serializada usando o limite padrão na chave do cache")
+    void deveBuscarListagemSerializadaComLimitePadrao() {
+
+        RespostaJson resposta = new RespostaJson(new byte[0], "abc", null);
+        FiltroProdutos chave = new FiltroProdutos(5L, 100, null, null, 12, null);
+        Mockito.when(produtoJsonCache.listagem(eq(chave), any())).thenReturn(resposta);
+
+        assertSame(resposta, produtoService.listarProdutosJson(new FiltroProdutos(5L, null, null, null, 12, null)));
+        verify(produtoDao, never()).listarProdutos(any(), Mockito.anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve buscar o produto serializado pelo cache")
+    void deveBuscarProdutoSerializado() {
+
+        RespostaJson resposta = new RespostaJson(new byte[0], "abc", null);
+        Mockito.when(produtoJsonCache.produto(eq(1L), any())).thenReturn(resposta);
+
+        assertSame(resposta, produtoService.listarPorIdJson(1L));
+        verify(produtoDao, never()).listarPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Deve retornar as estatísticas do cache de produtos")
+    void deveRetornarEstatisticasDoCache() {
+
+        EstatisticasCacheResponse estatisticas = new EstatisticasCacheResponse(10, 2, 0, 2);
+        Mockito.when(produtoCache.estatisticas()).thenReturn(estatisticas);
+
+        assertEquals(estatisticas, produtoService.estatisticasCache());
+    }
+
+    @Test
+    @DisplayName("Deve importar os produtos válidos e informar o erro de cada linha rejeitada")
+    void deveImportarProdutosEInformarErrosPorLinha() {
+
+        ProdutoRequest invalido = new ProdutoRequest("", new BigDecimal("10"), 12);
+        doThrow(new BadRequestException("O nome do produto é obrigatório.")).when(produtoValidator).validate(invalido);
+        List<List<ProdutoEmprestimo>> lotes = new ArrayList<>();
+        Mockito.doAnswer(invocacao -> lotes.add(new ArrayList<>(invocacao.getArgument(0))))
+                .when(produtoDao).cadastrarLote(any());
+
+        ImportacaoProdutosResponse result = produtoService.importar(Arrays.asList(produtoRequest, invalido, null));
+
+        assertEquals(3, result.total());
+        assertEquals(1, result.importados());
+        assertEquals(List.of(
+                new ErroImportacao(2, "O nome do produto é obrigatório."),
+                new ErroImportacao(3, "Os dados do produto são obrigatórios.")), result.erros());
+        assertEquals(1, lotes.size());
+        verify(produtoJsonCache).invalidarListagens();
+        ProdutoEmprestimo importado = lotes.get(0).get(0);
+        assertEquals("Crédito Pessoal", importado.getNome());
+        assertEquals(TaxaJuros.calcularTaxaMensalEquivalente(new BigDecimal("19.9")), importado.getTaxaJurosMensal());
+    }
+
+    @Test
+    @DisplayName("Deve regravar linha a linha o lote que falhar e rejeitar só a linha com problema, sem a mensagem do banco")
+    void deveGravarImportacaoEmLotes() {
+
+        ProdutoService servico = new ProdutoService(produtoValidator, produtoDao, produtoCache, produtoJsonCache, null, 100, 500, 2, 10);
+        ProdutoRequest recusado = new ProdutoRequest("Recusado", new BigDecimal("10"), 12);
+        List<Integer> tamanhos = new ArrayList<>();
+        Mockito.doAnswer(invocacao -> {
+            List<ProdutoEmprestimo> produtos = invocacao.getArgument(0);
+            tamanhos.add(produtos.size());
+            if (produtos.stream().anyMatch(p -> p.getNome().equals("Recusado"))) {
+                throw new IllegalStateException("Falha ao gravar", new SQLException(
+                        "Unique index or primary key violation: PUBLIC.PRODUTOS_EMPRESTIMO(NOME)", "23505"));
+            }
+            return null;
+        }).when(produtoDao).cadastrarLote(any());
+
+        ImportacaoProdutosResponse result = servico.importar(List.of(produtoRequest, recusado, produtoRequest));
+
+        assertEquals(3, result.total());
+        assertEquals(2, result.importados());
+        assertEquals(List.of(new ErroImportacao(2, ProdutoService.MENSAGEM_PRODUTO_DUPLICADO)), result.erros());
+        assertEquals(List.of(2, 1, 1, 1), tamanhos);
+    }
+
+    @Test
+    @DisplayName("Deve traduzir a falha do banco em mensagem fixa pelo SQLState, sem expor SQL, tabela ou coluna")
+    void deveTraduzirFalhaDoBancoEmMensagemFixa() {
+
+        assertEquals(ProdutoService.MENSAGEM_PRODUTO_DUPLICADO, ProdutoService.mensagemFalha(
+                new IllegalStateException(new SQLException("Unique index violation: PUBLIC.IDX_PRODUTO", "23505"))));
+        assertEquals(ProdutoService.MENSAGEM_CAMPO_OBRIGATORIO, ProdutoService.mensagemFalha(
+                new SQLException("NULL not allowed for column \"NOME\"", "23502")));
+        assertEquals(ProdutoService.MENSAGEM_VALOR_FORA_DO_LIMITE, ProdutoService.mensagemFalha(
+                new IllegalStateException(new SQLException("Value too long for column \"NOME CHARACTER VARYING(255)\"", "22001"))));
+        assertEquals(ProdutoService.MENSAGEM_FALHA_GRAVACAO, ProdutoService.mensagemFalha(
+                new SQLException("Deadlock detected: SELECT * FROM PRODUTOS_EMPRESTIMO", "40001")));
+        assertEquals(ProdutoService.MENSAGEM_FALHA_GRAVACAO, ProdutoService.mensagemFalha(
+                new IllegalStateException("Falha ao gravar")));
+    }
+
+    @Test
+    @DisplayName("Deve importar produtos a partir de um CSV informando a linha do arquivo nos erros")
+    void deveImportarCsv() {
+
+        doNothing().when(produtoDao).cadastrarLote(any());
+
+        ImportacaoProdutosResponse result = produtoService.importarCsv(
+                "nome,taxaJurosAnual,prazoMaximoMeses\nCrédito Pessoal,19.9,24\nCrédito Rural,abc,12\n");
+
+        assertEquals(2, result.total());
+        assertEquals(1, result.importados());
+        assertEquals(3, result.erros().get(0).linha());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao importar uma lista vazia ou acima do limite")
+    void deveLancarExcecaoAoImportarQuantidadeInvalida() {
+
+        ProdutoService servico = new ProdutoService(produtoValidator, produtoDao, produtoCache, produtoJsonCache, null, 100, 500, 2, 2);
+
+        BadRequestException vazia = assertThrows(BadRequestException.class, () -> servico.importar(List.of()));
+        BadRequestException excedida = assertThrows(BadRequestException.class,
+                () -> servico.importar(List.of(produtoRequest, produtoRequest, produtoRequest)));
+
+        assertEquals("A importação deve conter ao menos um produto.", vazia.getMessage());
+        assertEquals("A importação deve conter no máximo 2 produtos.", excedida.getMessage());
+        verify(produtoDao, never()).cadastrarLote(any());
+        verify(produtoJsonCache, never()).invalidarListagens();
+    }
+}
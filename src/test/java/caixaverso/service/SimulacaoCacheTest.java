@@ -0,0 +1,191 @@
+package caixaverso.service;
+
+import caixaverso.dto.EstatisticasCacheResponse;
+import caixaverso.dto.SimulacaoResponse;
+import caixaverso.model.ProdutoAlterado;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulacaoCacheTest {
+
+    private final SimulacaoCache.Chave chave = new SimulacaoCache.Chave(1L, 0L, 1000000L, 24, false);
+
+    @Test
+    @DisplayName("Deve calcular a simulação apenas na primeira consulta de uma chave")
+    void deveCalcularApenasNaPrimeiraConsulta() {
+
+        SimulacaoCache cache = new SimulacaoCache(true, 10);
+        AtomicInteger calculos = new AtomicInteger();
+
+        SimulacaoResponse primeira = cache.obter(chave, () -> simulacao(calculos));
+        SimulacaoResponse segunda = cache.obter(chave, () -> simulacao(calculos));
+
+        assertSame(primeira, segunda);
+        assertEquals(1, calculos.get());
+
+        EstatisticasCacheResponse estatisticas = cache.estatisticas();
+        assertEquals(1, estatisticas.acertos());
+        assertEquals(1, estatisticas.falhas());
+        assertEquals(1, estatisticas.tamanho());
+        assertEquals(0.5, estatisticas.taxaAcertos());
+    }
+
+    @Test
+    @DisplayName("Deve executar um único cálculo para consultas simultâneas da mesma chave")
+    void deveAgruparConsultasSimultaneas() throws Exception {
+
+        SimulacaoCache cache = new SimulacaoCache(true, 10);
+        AtomicInteger calculos = new AtomicInteger();
+        CountDownLatch calculoIniciado = new CountDownLatch(1);
+        CountDownLatch liberarCalculo = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            Future<SimulacaoResponse> primeira = executor.submit(() -> cache.obter(chave, () -> {
+                calculoIniciado.countDown();
+                aguardar(liberarCalculo);
+                return simulacao(calculos);
+            }));
+            assertTrue(calculoIniciado.await(5, TimeUnit.SECONDS));
+
+            List<Future<SimulacaoResponse>> demais = List.of(
+                    executor.submit(() -> cache.obter(chave, () -> simulacao(calculos))),
+                    executor.submit(() -> cache.obter(chave, () -> simulacao(calculos))));
+            liberarCalculo.countDown();
+
+            SimulacaoResponse esperada = primeira.get(5, TimeUnit.SECONDS);
+            for (Future<SimulacaoResponse> outra : demais) {
+                assertSame(esperada, outra.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calculos.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve descartar a simulação usada há mais tempo ao atingir o tamanho máximo")
+    void deveDescartarMenosRecente_quandoAtingirTamanhoMaximo() {
+
+        SimulacaoCache cache = new SimulacaoCache(true, 2);
+        AtomicInteger calculos = new AtomicInteger();
+        SimulacaoCache.Chave outra = new SimulacaoCache.Chave(1L, 0L, 500000L, 12, false);
+        SimulacaoCache.Chave terceira = new SimulacaoCache.Chave(2L, 0L, 500000L, 12, false);
+
+        cache.obter(chave, () -> simulacao(calculos));
+        cache.obter(outra, () -> simulacao(calculos));
+        cache.obter(chave, () -> simulacao(calculos));
+        cache.obter(terceira, () -> simulacao(calculos));
+        cache.obter(chave, () -> simulacao(calculos));
+        cache.obter(outra, () -> simulacao(calculos));
+
+        assertEquals(4, calculos.get());
+        assertEquals(2, cache.estatisticas().remocoes());
+        assertEquals(2, cache.estatisticas().tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve remover as simulações do produto alterado")
+    void deveRemoverSimulacoes_quandoProdutoAlterado() {
+
+        SimulacaoCache cache = new SimulacaoCache(true, 10);
+        AtomicInteger calculos = new AtomicInteger();
+        SimulacaoCache.Chave outroProduto = new SimulacaoCache.Chave(2L, 0L, 1000000L, 24, false);
+
+        cache.obter(chave, () -> simulacao(calculos));
+        cache.obter(outroProduto, () -> simulacao(calculos));
+        cache.aoAlterarProduto(new ProdutoAlterado(1L));
+        cache.obter(chave, () -> simulacao(calculos));
+        cache.obter(outroProduto, () -> simulacao(calculos));
+
+        assertEquals(3, calculos.get());
+    }
+
+    @Test
+    @DisplayName("Não deve manter em cache uma simulação que falhou")
+    void naoDeveManterSimulacaoQueFalhou() {
+
+        SimulacaoCache cache = new SimulacaoCache(true, 10);
+        AtomicInteger calculos = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> cache.obter(chave, () -> {
+            throw new IllegalArgumentException("Falha no cálculo");
+        }));
+        cache.obter(chave, () -> simulacao(calculos));
+
+        assertEquals(1, calculos.get());
+        assertEquals(1, cache.estatisticas().tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve liberar quem aguarda e recalcular quando o cálculo lança um Error")
+    void deveLiberarEspera_quandoCalculoLancaError() throws Exception {
+
+        SimulacaoCache cache = new SimulacaoCache(true, 10);
+        AtomicInteger calculos = new AtomicInteger();
+        CountDownLatch calculoIniciado = new CountDownLatch(1);
+        CountDownLatch liberarCalculo = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<SimulacaoResponse> primeira = executor.submit(() -> cache.obter(chave, () -> {
+                calculoIniciado.countDown();
+                aguardar(liberarCalculo);
+                throw new StackOverflowError();
+            }));
+            assertTrue(calculoIniciado.await(5, TimeUnit.SECONDS));
+            Future<SimulacaoResponse> aguardando = executor.submit(() -> cache.obter(chave, () -> simulacao(calculos)));
+            liberarCalculo.countDown();
+
+            ExecutionException erro = assertThrows(ExecutionException.class, () -> primeira.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, erro.getCause());
+            // Quem aguardava recebe o mesmo Error ou, se chegou depois da remoção, calcula de novo; nunca fica bloqueado
+            try {
+                aguardando.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertInstanceOf(StackOverflowError.class, e.getCause());
+            }
+            assertNotNull(cache.obter(chave, () -> simulacao(calculos)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve calcular sempre quando o cache estiver desabilitado")
+    void deveCalcularSempre_quandoDesabilitado() {
+
+        SimulacaoCache cache = new SimulacaoCache(false, 10);
+        AtomicInteger calculos = new AtomicInteger();
+
+        cache.obter(chave, () -> simulacao(calculos));
+        cache.obter(chave, () -> simulacao(calculos));
+
+        assertEquals(2, calculos.get());
+        assertEquals(0, cache.estatisticas().tamanho());
+    }
+
+    private static SimulacaoResponse simulacao(AtomicInteger calculos) {
+        calculos.incrementAndGet();
+        return new SimulacaoResponse(null, "10000.00", 24, "12.68", "0.999813", "11297.39", "470.72", List.of());
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,20 +1,36 @@
 package caixaverso.service;
 
+import caixaverso.dto.ComparacaoResponse;
+import caixaverso.dto.GradeSimulacaoRequest;
+import caixaverso.dto.GradeSimulacaoResponse;
+import caixaverso.dto.SimulacaoCompactaResponse;
+import caixaverso.dto.SimulacaoLoteItem;
+import caixaverso.dto.SimulacaoLoteResponse;
 import caixaverso.dto.SimulacaoRequest;
 import caixaverso.dto.SimulacaoResponse;
+import caixaverso.exception.RegraValidacao;
 import caixaverso.model.ProdutoEmprestimo;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import org.hibernate.query.Query;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
 @QuarkusTest
@@ -26,6 +42,9 @@ class SimulacaoServiceTest {
     @InjectMock
     EntityManager entityManager;
 
+    @Inject
+    MeterRegistry registry;
+
     private ProdutoEmprestimo produto;
 
     @BeforeEach
@@ -37,11 +56,24 @@ class SimulacaoServiceTest {
         produto.setPrazoMaximoMeses(36);
     }
 
+    @Test
+    @DisplayName("Deve medir a validação de um ID inexistente sem criar uma série para ele")
+    void deveMedirValidacaoDeIdInexistente_semSerieParaOId() {
+
+        when(entityManager.find(ProdutoEmprestimo.class, 987654L)).thenReturn(null);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> simulacaoService.simular(new SimulacaoRequest(987654L, 1000000L, 24)));
+
+        assertTrue(registry.find("simulacao.fase").tag("produto", "987654").timers().isEmpty());
+        assertFalse(registry.find("simulacao.fase").tag("fase", "validacao").tag("produto", "desconhecido").timers().isEmpty());
+    }
+
     @Test
     @DisplayName("Deve simular com sucesso e retornar os cálculos corretos")
     void deveSimularComSucesso_eRetornarCalculosCorretos() {
 
-        SimulacaoRequest request = new SimulacaoRequest(1L, 10000.00, 24);
+        SimulacaoRequest request = new SimulacaoRequest(1L, 1000000L, 24);
         when(entityManager.find(ProdutoEmprestimo.class, 1L)).thenReturn(produto);
 
         SimulacaoResponse response = simulacaoService.simular(request);
@@ -53,17 +85,31 @@ class SimulacaoServiceTest {
         assertEquals("470.72", response.valorParcelaMensal());
         assertEquals("11297.39", response.valorTotalComJuros());
         assertEquals(24, response.memoriaCalculo().size());
-        assertEquals("0.00", response.memoriaCalculo().get(23).saldoDevedor());
+        assertEquals(0L, response.memoriaCalculo().get(23).saldoDevedor());
 
         Mockito.verify(entityManager).find(ProdutoEmprestimo.class, 1L);
     }
 
+    @Test
+    @DisplayName("Deve usar a taxa mensal gravada no produto em vez de derivá-la da taxa anual")
+    void deveUsarTaxaMensalGravadaNoProduto() {
+
+        produto.setTaxaJurosMensal(BigDecimal.ZERO.setScale(10));
+        SimulacaoRequest request = new SimulacaoRequest(1L, 1000000L, 24);
+        when(entityManager.find(ProdutoEmprestimo.class, 1L)).thenReturn(produto);
+
+        SimulacaoResponse response = simulacaoService.simular(request);
+
+        assertEquals("0.000000", response.taxaJurosEfetivaMensal());
+        assertEquals("416.67", response.valorParcelaMensal());
+    }
+
     @Test
     @DisplayName("Deve lançar IllegalArgumentException quando o produto não for encontrado")
     void deveLancarIllegalArgumentException_quandoProdutoNaoEncontrado() {
 
         long idInexistente = 99L;
-        SimulacaoRequest requestComIdInexistente = new SimulacaoRequest(idInexistente, 10000.0, 12);
+        SimulacaoRequest requestComIdInexistente = new SimulacaoRequest(idInexistente, 1000000L, 12);
         when(entityManager.find(ProdutoEmprestimo.class, idInexistente)).thenReturn(null);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> simulacaoService.simular(requestComIdInexistente));
@@ -77,7 +123,7 @@ class SimulacaoServiceTest {
     void deveLancarIllegalArgumentException_quandoPrazoExcedeMaximoDoProduto() {
 
         int prazoExcedido = 40;
-        SimulacaoRequest requestPrazoExcedido = new SimulacaoRequest(1L, 10000.0, prazoExcedido);
+        SimulacaoRequest requestPrazoExcedido = new SimulacaoRequest(1L, 1000000L, prazoExcedido);
         when(entityManager.find(ProdutoEmprestimo.class, 1L)).thenReturn(produto);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> simulacaoService.simular(requestPrazoExcedido));
@@ -88,4 +134,330 @@ class SimulacaoServiceTest {
         );
         assertEquals(expectedMessage, exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve simular um lote na ordem de entrada, carregando cada produto uma única vez")
+    void deveSimularLote_naOrdemDeEntrada() {
+
+        when(entityManager.find(ProdutoEmprestimo.class, 1L)).thenReturn(produto);
+        when(entityManager.find(ProdutoEmprestimo.class, 99L)).thenReturn(null);
+        List<SimulacaoLoteItem> requests = Arrays.asList(
+                SimulacaoLoteItem.de(new SimulacaoRequest(1L, 1000000L, 24)),
+                SimulacaoLoteItem.de(new SimulacaoRequest(99L, 1000000L, 12)),
+                null,
+                SimulacaoLoteItem.de(new SimulacaoRequest(1L, 500000L, 40)),
+                SimulacaoLoteItem.de(new SimulacaoRequest(1L, 500000L, 12))
+        );
+
+        List<SimulacaoLoteResponse> resultados = simulacaoService.simularLote(requests, false);
+
+        assertEquals(5, resultados.size());
+        for (int i = 0; i < resultados.size(); i++) {
+            assertEquals(i, resultados.get(i).indice());
+        }
+        assertEquals("470.72", resultados.get(0).simulacao().valorParcelaMensal());
+        assertNull(resultados.get(0).erro());
+        assertEquals("Produto de empréstimo não encontrado para o ID informado.", resultados.get(1).erro().mensagem());
+        assertEquals("Os dados da simulação são obrigatórios.", resultados.get(2).erro().mensagem());
+        assertNotNull(resultados.get(3).erro());
+        assertNull(resultados.get(3).simulacao());
+        assertEquals("5000.00", resultados.get(4).simulacao().valorSolicitado());
+
+        Mockito.verify(entityManager, times(1)).find(ProdutoEmprestimo.class, 1L);
+    }
+
+    @Test
+    @DisplayName("Deve devolver o erro de leitura do valor no próprio item, sem interromper o lote")
+    void deveSimularLote_comValorInvalidoEmUmItem() {
+
+        when(entityManager.find(ProdutoEmprestimo.class, 1L)).thenReturn(produto);
+        List<SimulacaoLoteItem> itens = List.of(
+                SimulacaoLoteItem.de(new SimulacaoRequest(1L, 1000000L, 24)),
+                new SimulacaoLoteItem(null, "O valor solicitado deve ser maior que zero.", RegraValidacao.VALOR_NAO_POSITIVO),
+                SimulacaoLoteItem.de(new SimulacaoRequest(1L, 500000L, 12)),
+                SimulacaoLoteItem.de(new SimulacaoRequest(1L, 1000000L, 999))
+        );
+        double falhasValor = contarFalhas("valor-nao-positivo");
+        double falhasPrazo = contarFalhas("prazo-acima-do-produto");
+        long validacoes = contarValidacoes("1");
+
+        List<SimulacaoLoteResponse> resultados = simulacaoService.simularLote(itens, false);
+
+        assertEquals(falhasValor + 1, contarFalhas("valor-nao-positivo"));
+        assertEquals(falhasPrazo + 1, contarFalhas("prazo-acima-do-produto"));
+        assertEquals(validacoes + 2, contarValidacoes("1"));
+        assertNotNull(resultados.get(3).erro());
+
+        assertEquals(4, resultados.size());
+        assertEquals("470.72", resultados.get(0).simulacao().valorParcelaMensal());
+        assertEquals(1, resultados.get(1).indice());
+        assertNull(resultados.get(1).simulacao());
+        assertEquals("Erro de validação", resultados.get(1).erro().tipo());
+        assertEquals("O valor solicitado deve ser maior que zero.", resultados.get(1).erro().mensagem());
+        assertEquals("5000.00", resultados.get(2).simulacao().valorSolicitado());
+    }
+
+    private double contarFalhas(String regra) {
+        var contador = registry.find("simulacao.validacao.falhas").tag("regra", regra).counter();
+        return contador == null ? 0 : contador.count();
+    }
+
+    private long contarValidacoes(String produto) {
+        return registry.find("simulacao.fase").tag("fase", "validacao").tag("produto", produto).timers().stream()
+                .mapToLong(timer -> timer.count())
+                .sum();
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException quando o lote está vazio")
+    void deveLancarIllegalArgumentException_quandoLoteVazio() {
+
+        List<SimulacaoLoteItem> loteVazio = Collections.emptyList();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> simulacaoService.simularLote(loteVazio, false));
+
+        assertEquals("O lote deve conter ao menos uma simulação.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve simular o resumo com o mesmo total da simulação completa e sem memória de cálculo")
+    void deveSimularResumo_comMesmoTotalDaSimulacaoCompleta() {
+
+        SimulacaoRequest request = new SimulacaoRequest(1L, 1000000L, 24);
+        when(entityManager.find(ProdutoEmprestimo.class, 1L)).thenReturn(produto);
+
+        SimulacaoResponse completa = simulacaoService.simular(request);
+        SimulacaoResponse resumo = simulacaoService.simularResumo(request);
+
+        assertEquals(completa.valorParcelaMensal(), resumo.valorParcelaMensal());
+        assertEquals(completa.valorTotalComJuros(), resumo.valorTotalComJuros());
+        assertEquals(completa.taxaJurosEfetivaMensal(), resumo.taxaJurosEfetivaMensal());
+        assertNull(resumo.memoriaCalculo());
+    }
+
+    @Test
+    @DisplayName("Deve entregar as parcelas uma a uma, iguais à memória de cálculo da simulação completa")
+    void deveSimularParcelas_iguaisAMemoriaDeCalculo() {
+
+        SimulacaoRequest request = new SimulacaoRequest(1L, 1000000L, 24);
+        when(entityManager.find(ProdutoEmprestimo.class, 1L)).thenReturn(produto);
+
+        ProdutoEmprestimo validado = simulacaoService.validar(request);
+        List<SimulacaoResponse.ParcelaDetalhe> parcelas = new ArrayList<>();
+        simulacaoService.simularParcelas(validado, request, parcelas::add);
+
+        assertEquals(simulacaoService.simular(request).memoriaCalculo(), parcelas);
+    }
+
+    @Test
+    @DisplayName("Deve montar a simulação compacta em centavos com os mesmos valores da simulação completa")
+    void deveSimularCompacta_comMesmosValoresDaSimulacaoCompleta() {
+
+        SimulacaoRequest request = new SimulacaoRequest(1L, 1000000L, 24);
+        when(entityManager.find(ProdutoEmprestimo.class, 1L)).thenReturn(produto);
+
+        SimulacaoCompactaResponse compacta = simulacaoService.simularCompacta(request, false);
+        SimulacaoResponse completa = simulacaoService.simular(request);
+
+        assertEquals(1L, compacta.idProduto());
+        assertEquals(completa.taxaJurosEfetivaMensal(), compacta.taxaJurosEfetivaMensal());
+        assertEquals(1000000L, compacta.valorSolicitadoCentavos());
+        assertEquals(47072L, compacta.valorParcelaMensalCentavos());
+        assertEquals(1129739L, compacta.valorTotalComJurosCentavos());
+        assertEquals(24, compacta.memoriaCalculo().jurosCentavos().length);
+        for (int i = 0; i < 24; i++) {
+            SimulacaoResponse.ParcelaDetalhe parcela = completa.memoriaCalculo().get(i);
+            assertEquals(parcela.amortizacao(), compacta.memoriaCalculo().amortizacaoCentavos()[i]);
+            assertEquals(parcela.juros(), compacta.memoriaCalculo().jurosCentavos()[i]);
+            assertEquals(parcela.saldoDevedor(), compacta.memoriaCalculo().saldoDevedorCentavos()[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve omitir as colunas da memória de cálculo na simulação compacta em modo resumo")
+    void deveOmitirColunasNaSimulacaoCompacta_quandoResumo() {
+
+        SimulacaoRequest request = new SimulacaoRequest(1L, 1000000L, 24);
+        when(entityManager.find(ProdutoEmprestimo.class, 1L)).thenReturn(produto);
+
+        SimulacaoCompactaResponse compacta = simulacaoService.simularCompacta(request, true);
+
+        assertNull(compacta.memoriaCalculo());
+        assertEquals(47072L, compacta.valorParcelaMensalCentavos());
+    }
+
+    @Test
+    @DisplayName("Deve calcular a parcela de um mês igual à da memória de cálculo completa")
+    void deveSimularParcela_igualAMemoriaDeCalculo() {
+
+        SimulacaoRequest request = new SimulacaoRequest(1L, 1000000L, 24);
+        when(entityManager.find(ProdutoEmprestimo.class, 1L)).thenReturn(produto);
+
+        SimulacaoResponse.ParcelaDetalhe parcela = simulacaoService.simularParcela(request, 13);
+
+        assertEquals(simulacaoService.simular(request).memoriaCalculo().get(12), parcela);
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException quando o mês excede o prazo da simulação")
+    void deveLancarIllegalArgumentException_quandoMesExcedePrazo() {
+
+        SimulacaoRequest request = new SimulacaoRequest(1L, 1000000L, 24);
+        when(entityManager.find(ProdutoEmprestimo.class, 1L)).thenReturn(produto);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> simulacaoService.simularParcela(request, 25));
+
+        assertEquals("O mês deve estar entre 1 e o prazo da simulação (24 meses).", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve comparar os produtos elegíveis pela parcela e montar a memória de cálculo só para o top")
+    void deveCompararProdutosPelaParcela_eMontarMemoriaSoParaTop() {
+
+        List<ProdutoEmprestimo> elegiveis = produtosParaComparacao();
+        Query<ProdutoEmprestimo> query = consultaDeElegiveis(elegiveis);
+
+        ComparacaoResponse response = simulacaoService.comparar(new SimulacaoRequest(null, 1000000L, 24), null, 2);
+
+        assertEquals("10000.00", response.valorSolicitado());
+        assertEquals("parcela", response.ordenacao());
+        assertEquals(3, response.produtosElegiveis());
+        assertEquals(List.of(2L, 1L), response.simulacoes().stream().map(simulacao -> simulacao.produto().getId()).toList());
+        assertEquals("470.72", response.simulacoes().get(1).valorParcelaMensal());
+        assertEquals(24, response.simulacoes().get(0).memoriaCalculo().size());
+        assertEquals(24, response.simulacoes().get(1).memoriaCalculo().size());
+        Mockito.verify(query).setParameter("prazoMeses", 24);
+    }
+
+    @Test
+    @DisplayName("Deve retornar todos os produtos elegíveis resumidos quando o top não é informado")
+    void deveRetornarTodosResumidos_quandoSemTop() {
+
+        consultaDeElegiveis(produtosParaComparacao());
+
+        ComparacaoResponse response = simulacaoService.comparar(new SimulacaoRequest(null, 1000000L, 24), "total", null);
+
+        assertEquals(List.of(2L, 1L, 3L), response.simulacoes().stream().map(simulacao -> simulacao.produto().getId()).toList());
+        assertTrue(response.simulacoes().stream().allMatch(simulacao -> simulacao.memoriaCalculo() == null));
+        assertEquals("11297.39", response.simulacoes().get(1).valorTotalComJuros());
+    }
+
+    @Test
+    @DisplayName("Deve classificar corretamente catálogos divididos em várias tarefas")
+    void deveClassificarCatalogoDivididoEmTarefas() {
+
+        List<ProdutoEmprestimo> elegiveis = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            ProdutoEmprestimo elegivel = new ProdutoEmprestimo("Produto " + id, BigDecimal.valueOf(1000 - id), 60);
+            elegivel.setId(id);
+            elegiveis.add(elegivel);
+        }
+        consultaDeElegiveis(elegiveis);
+
+        ComparacaoResponse response = simulacaoService.comparar(new SimulacaoRequest(null, 1000000L, 12), "parcela", 3);
+
+        assertEquals(1000, response.produtosElegiveis());
+        assertEquals(List.of(1000L, 999L, 998L), response.simulacoes().stream().map(simulacao -> simulacao.produto().getId()).toList());
+    }
+
+    @Test
+    @DisplayName("Deve retornar uma comparação vazia quando nenhum produto atende o prazo")
+    void deveRetornarComparacaoVazia_quandoNenhumProdutoElegivel() {
+
+        consultaDeElegiveis(Collections.emptyList());
+
+        ComparacaoResponse response = simulacaoService.comparar(new SimulacaoRequest(null, 1000000L, 400), null, 5);
+
+        assertEquals(0, response.produtosElegiveis());
+        assertTrue(response.simulacoes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException quando a ordenação ou o top da comparação são inválidos")
+    void deveLancarIllegalArgumentException_quandoOrdenacaoOuTopInvalidos() {
+
+        SimulacaoRequest request = new SimulacaoRequest(null, 1000000L, 24);
+
+        IllegalArgumentException ordenacao = assertThrows(IllegalArgumentException.class,
+                () -> simulacaoService.comparar(request, "juros", null));
+        IllegalArgumentException top = assertThrows(IllegalArgumentException.class,
+                () -> simulacaoService.comparar(request, null, 0));
+
+        assertEquals("A ordenação deve ser 'parcela' ou 'total'.", ordenacao.getMessage());
+        assertEquals("O top deve estar entre 1 e 50 produtos.", top.getMessage());
+        Mockito.verify(entityManager, Mockito.never()).createQuery(any(String.class), eq(ProdutoEmprestimo.class));
+    }
+
+    @Test
+    @DisplayName("Deve simular a grade de valores e prazos com os mesmos valores da simulação individual")
+    void deveSimularGrade_comMesmosValoresDaSimulacaoIndividual() {
+
+        when(entityManager.find(ProdutoEmprestimo.class, 1L)).thenReturn(produto);
+        GradeSimulacaoRequest request = new GradeSimulacaoRequest(1L, 5000.0, 10000.0, 2500.0, 12, 36, 12);
+
+        GradeSimulacaoResponse grade = simulacaoService.simularGrade(request, true);
+
+        assertEquals(List.of("5000.00", "7500.00", "10000.00"), grade.valores());
+        assertEquals(List.of(12, 24, 36), grade.prazos());
+        assertEquals(3, grade.linhas().size());
+        GradeSimulacaoResponse.CelulaGrade celula = grade.linhas().get(1).celulas().get(2);
+        assertEquals(24, grade.linhas().get(1).prazoMeses());
+        assertEquals("10000.00", celula.valorSolicitado());
+        assertEquals("470.72", celula.valorParcelaMensal());
+        assertEquals("11297.39", celula.valorTotalComJuros());
+        assertNull(celula.memoriaCalculo());
+
+        for (GradeSimulacaoResponse.LinhaGrade linha : grade.linhas()) {
+            for (GradeSimulacaoResponse.CelulaGrade atual : linha.celulas()) {
+                SimulacaoResponse individual = simulacaoService.simularResumo(
+                        new SimulacaoRequest(1L, new BigDecimal(atual.valorSolicitado()).movePointRight(2).longValueExact(), linha.prazoMeses()));
+                assertEquals(individual.valorParcelaMensal(), atual.valorParcelaMensal());
+                assertEquals(individual.valorTotalComJuros(), atual.valorTotalComJuros());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve incluir a memória de cálculo em cada célula da grade quando não é resumo")
+    void deveIncluirMemoriaNaGrade_quandoNaoEhResumo() {
+
+        when(entityManager.find(ProdutoEmprestimo.class, 1L)).thenReturn(produto);
+        GradeSimulacaoRequest request = new GradeSimulacaoRequest(1L, 10000.0, 10000.0, 1.0, 6, 8, 2);
+
+        GradeSimulacaoResponse grade = simulacaoService.simularGrade(request, false);
+
+        assertEquals(List.of(6, 8), grade.prazos());
+        assertEquals(6, grade.linhas().get(0).celulas().get(0).memoriaCalculo().size());
+        assertEquals(simulacaoService.simular(new SimulacaoRequest(1L, 1000000L, 8)).memoriaCalculo(),
+                grade.linhas().get(1).celulas().get(0).memoriaCalculo());
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException quando a grade excede o número máximo de simulações")
+    void deveLancarIllegalArgumentException_quandoGradeExcedeLimite() {
+
+        GradeSimulacaoRequest request = new GradeSimulacaoRequest(1L, 100.0, 1000000.0, 100.0, 1, 36, 1);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> simulacaoService.simularGrade(request, true));
+
+        assertEquals("A grade deve conter no máximo 5000 simulações (valores x prazos).", exception.getMessage());
+        Mockito.verify(entityManager, Mockito.never()).find(ProdutoEmprestimo.class, 1L);
+    }
+
+    private List<ProdutoEmprestimo> produtosParaComparacao() {
+        ProdutoEmprestimo barato = new ProdutoEmprestimo("Crédito Consignado", new BigDecimal("6"), 60);
+        barato.setId(2L);
+        ProdutoEmprestimo caro = new ProdutoEmprestimo("Crédito Rotativo", new BigDecimal("24"), 48);
+        caro.setId(3L);
+        return List.of(caro, produto, barato);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Query<ProdutoEmprestimo> consultaDeElegiveis(List<ProdutoEmprestimo> elegiveis) {
+        Query<ProdutoEmprestimo> query = Mockito.mock(Query.class, Mockito.RETURNS_SELF);
+        when(entityManager.createQuery(any(String.class), eq(ProdutoEmprestimo.class))).thenReturn(query);
+        when(query.getResultList()).thenReturn(elegiveis);
+        return query;
+    }
+}
@@ -0,0 +1,123 @@
+package caixaverso.util;
+
+import caixaverso.dto.SimulacaoRequest;
+import caixaverso.dto.SimulacaoResponse;
+import caixaverso.dto.SimulacaoResponse.ParcelaDetalhe;
+import caixaverso.exception.ValorMonetarioInvalidoException;
+import caixaverso.model.ProdutoEmprestimo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CborProviderTest {
+
+    private static final MediaType APPLICATION_CBOR = MediaType.valueOf(CborProvider.APPLICATION_CBOR);
+
+    private final CborProvider provider = new CborProvider(new ObjectMapper());
+
+    @Test
+    @DisplayName("Deve ler em CBOR o mesmo objeto que foi gravado")
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void deveLerOMesmoObjetoGravado() throws IOException {
+
+        SimulacaoRequest request = new SimulacaoRequest(1L, 1000000L, 24);
+
+        byte[] corpo = gravar(request);
+        Object lido = provider.readFrom((Class) SimulacaoRequest.class, SimulacaoRequest.class, null,
+                APPLICATION_CBOR, null, new ByteArrayInputStream(corpo));
+
+        assertEquals(request, lido);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar as anotações do Jackson ao gravar em CBOR")
+    void deveRespeitarAnotacoesDoJackson() throws IOException {
+
+        ProdutoEmprestimo produto = new ProdutoEmprestimo("Crédito Pessoal", new BigDecimal("12.68"), 36);
+        produto.setId(1L);
+        produto.setVersao(3L);
+
+        JsonNode lido = new ObjectMapper(new CBORFactory()).readTree(gravar(List.of(produto)));
+
+        assertEquals(1, lido.size());
+        assertEquals("Crédito Pessoal", lido.get(0).get("nome").asText());
+        assertEquals(0, new BigDecimal("12.68").compareTo(lido.get(0).get("taxaJurosAnual").decimalValue()));
+        assertFalse(lido.get(0).has("versao"));
+    }
+
+    @Test
+    @DisplayName("Deve lançar BadRequestException quando o corpo não é um CBOR válido")
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void deveLancarBadRequestException_quandoCorpoInvalido() {
+
+        byte[] corpo = {(byte) 0xa1, 0x63, 'a', 'b'};
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> provider.readFrom((Class) SimulacaoRequest.class, SimulacaoRequest.class, null,
+                        APPLICATION_CBOR, null, new ByteArrayInputStream(corpo)));
+
+        assertEquals("O corpo da requisição não é um CBOR válido para o tipo esperado.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve manter a exceção do valor monetário, que tem mapeador próprio")
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void deveManterExcecaoDoValorMonetario() throws IOException {
+
+        byte[] corpo = new ObjectMapper(new CBORFactory()).writeValueAsBytes(
+                Map.of("idProduto", 1, "valorSolicitado", 2000000, "prazoMeses", 24));
+
+        ValorMonetarioInvalidoException exception = assertThrows(ValorMonetarioInvalidoException.class,
+                () -> provider.readFrom((Class) SimulacaoRequest.class, SimulacaoRequest.class, null,
+                        APPLICATION_CBOR, null, new ByteArrayInputStream(corpo)));
+
+        assertEquals(LeitorValorMonetario.MENSAGEM_LIMITE, exception.getOriginalMessage());
+    }
+
+    @Test
+    @DisplayName("Deve gravar em CBOR corpos menores que em JSON para a simulação de 360 meses e a página de produtos")
+    void deveGravarCorpoMenorQueJson() throws IOException {
+
+        ObjectMapper json = new ObjectMapper();
+        List<ParcelaDetalhe> memoria = new ArrayList<>(360);
+        for (int mes = 1; mes <= 360; mes++) {
+            memoria.add(new ParcelaDetalhe(mes, 1234L + mes, 9876L - mes, 1000000L - mes * 2777L));
+        }
+        SimulacaoResponse simulacao = new SimulacaoResponse(produto(1L), "10000.00", 360, "12.68", "0.009999",
+                "38620.42", "107.28", memoria);
+        List<ProdutoEmprestimo> pagina = new ArrayList<>(500);
+        for (long id = 1; id <= 500; id++) {
+            pagina.add(produto(id));
+        }
+
+        assertTrue(gravar(simulacao).length < json.writeValueAsBytes(simulacao).length);
+        assertTrue(gravar(pagina).length < json.writeValueAsBytes(pagina).length);
+    }
+
+    private static ProdutoEmprestimo produto(long id) {
+        ProdutoEmprestimo produto = new ProdutoEmprestimo("Crédito Pessoal " + id, new BigDecimal("12.68"), 360);
+        produto.setId(id);
+        produto.setTaxaJurosMensal(new BigDecimal("0.0099990000"));
+        return produto;
+    }
+
+    private byte[] gravar(Object entidade) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        provider.writeTo(entidade, entidade.getClass(), entidade.getClass(), null, APPLICATION_CBOR, null, saida);
+        return saida.toByteArray();
+    }
+}
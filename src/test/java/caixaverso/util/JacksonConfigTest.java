@@ -0,0 +1,137 @@
+package caixaverso.util;
+
+import caixaverso.dto.GradeSimulacaoResponse.CelulaGrade;
+import caixaverso.dto.SimulacaoResponse;
+import caixaverso.dto.SimulacaoResponse.ParcelaDetalhe;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class JacksonConfigTest {
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Deve omitir a memória de cálculo nula da simulação resumida")
+    void deveOmitirMemoriaNulaDaSimulacao() throws Exception {
+
+        SimulacaoResponse response = new SimulacaoResponse(null, "10000.00", 12, "12.00", "0.009489",
+                "10661.85", "888.49", null);
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(response));
+
+        assertFalse(json.has("memoriaCalculo"));
+        assertFalse(json.has("produto"));
+        assertEquals("888.49", json.get("valorParcelaMensal").asText());
+    }
+
+    @Test
+    @DisplayName("Deve omitir a memória de cálculo nula das células da grade")
+    void deveOmitirMemoriaNulaDaCelulaDaGrade() throws Exception {
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(
+                new CelulaGrade("1000.00", "510.44", "1020.88", null)));
+
+        assertFalse(json.has("memoriaCalculo"));
+        assertEquals("510.44", json.get("valorParcelaMensal").asText());
+    }
+
+    @Test
+    @DisplayName("Deve manter os valores da memória de cálculo como texto com duas casas")
+    void deveManterValoresDaMemoriaComoTexto() throws Exception {
+
+        SimulacaoResponse response = new SimulacaoResponse(null, "1000.00", 1, "12.00", "0.009489",
+                "1009.49", "1009.49", List.of(new ParcelaDetalhe(1, 100000L, 949L, 0L)));
+
+        JsonNode parcela = objectMapper.readTree(objectMapper.writeValueAsBytes(response)).get("memoriaCalculo").get(0);
+
+        assertEquals("1000.00", parcela.get("amortizacao").asText());
+        assertEquals("9.49", parcela.get("juros").asText());
+        assertEquals("0.00", parcela.get("saldoDevedor").asText());
+    }
+
+    @Test
+    @DisplayName("Deve omitir a memória de cálculo no corpo HTTP de POST /simulacoes?resumo=true")
+    void deveOmitirMemoriaNoCorpoDaSimulacaoResumida() throws Exception {
+
+        long id = cadastrarProduto();
+
+        JsonNode json = lerCorpo(given().contentType(ContentType.JSON).accept(ContentType.JSON)
+                .body("{\"idProduto\":" + id + ",\"valorSolicitado\":10000.00,\"prazoMeses\":24}")
+                .when().post("/simulacoes?resumo=true")
+                .then().statusCode(200).extract());
+
+        assertFalse(json.has("memoriaCalculo"));
+        assertEquals("10000.00", json.get("valorSolicitado").asText());
+        // Sem os serializadores gerados, os campos seguem a ordem de declaração do record
+        assertEquals(List.of("produto", "valorSolicitado", "prazoMeses", "taxaJurosAnual", "taxaJurosEfetivaMensal",
+                "valorTotalComJuros", "valorParcelaMensal"), campos(json));
+    }
+
+    @Test
+    @DisplayName("Deve omitir a memória de cálculo das células no corpo HTTP de POST /simulacoes/grade?resumo=true")
+    void deveOmitirMemoriaNoCorpoDaGradeResumida() throws Exception {
+
+        long id = cadastrarProduto();
+
+        JsonNode json = lerCorpo(given().contentType(ContentType.JSON).accept(ContentType.JSON)
+                .body("{\"idProduto\":" + id + ",\"valorMinimo\":1000.00,\"valorMaximo\":2000.00,"
+                        + "\"passoValor\":1000.00,\"prazoMinimo\":12,\"prazoMaximo\":24,\"passoPrazo\":12}")
+                .when().post("/simulacoes/grade?resumo=true")
+                .then().statusCode(200).extract());
+
+        assertEquals(2, json.get("linhas").size());
+        for (JsonNode linha : json.get("linhas")) {
+            assertEquals(2, linha.get("celulas").size());
+            for (JsonNode celula : linha.get("celulas")) {
+                assertFalse(celula.has("memoriaCalculo"));
+                assertTrue(celula.has("valorParcelaMensal"));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve devolver o ErroResponse só com tipo e mensagem, nessa ordem")
+    void deveSerializarErroResponse() throws Exception {
+
+        JsonNode json = lerCorpo(given().contentType(ContentType.JSON).accept(ContentType.JSON)
+                .body("{\"idProduto\":987654,\"valorSolicitado\":10000.00,\"prazoMeses\":24}")
+                .when().post("/simulacoes")
+                .then().statusCode(400).extract());
+
+        assertEquals(List.of("tipo", "mensagem"), campos(json));
+        assertEquals("Produto de empréstimo não encontrado para o ID informado.", json.get("mensagem").asText());
+    }
+
+    private static long cadastrarProduto() {
+        return given().contentType(ContentType.JSON)
+                .body("{\"nome\":\"Pessoal\",\"taxaJurosAnual\":12.68,\"prazoMaximoMeses\":360}")
+                .when().post("/produtos")
+                .then().statusCode(200)
+                .extract().<Number>path("id").longValue();
+    }
+
+    private JsonNode lerCorpo(ExtractableResponse<Response> resposta) throws Exception {
+        return objectMapper.readTree(resposta.asByteArray());
+    }
+
+    private static List<String> campos(JsonNode json) {
+        List<String> campos = new ArrayList<>();
+        json.fieldNames().forEachRemaining(campos::add);
+        return campos;
+    }
+}
@@ -0,0 +1,78 @@
+package caixaverso.util;
+
+import caixaverso.dto.LinhaImportacao;
+import caixaverso.dto.ProdutoRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeitorCsvProdutosTest {
+
+    @Test
+    @DisplayName("Deve ler as linhas ignorando o cabeçalho e as linhas em branco")
+    void deveLerLinhasIgnorandoCabecalho() {
+
+        List<LinhaImportacao> linhas = LeitorCsvProdutos.ler(
+                "nome,taxaJurosAnual,prazoMaximoMeses\r\nCrédito Pessoal,19.9,24\r\n\r\nCrédito Rural, 8.5 ,60\r\n");
+
+        assertEquals(List.of(
+                new LinhaImportacao(2, new ProdutoRequest("Crédito Pessoal", new BigDecimal("19.9"), 24), null),
+                new LinhaImportacao(4, new ProdutoRequest("Crédito Rural", new BigDecimal("8.5"), 60), null)), linhas);
+    }
+
+    @Test
+    @DisplayName("Deve ler a primeira linha como dado quando não há cabeçalho")
+    void deveLerSemCabecalho() {
+
+        List<LinhaImportacao> linhas = LeitorCsvProdutos.ler("Crédito Pessoal,19.9,24");
+
+        assertEquals(1, linhas.size());
+        assertEquals(1, linhas.get(0).linha());
+        assertEquals("Crédito Pessoal", linhas.get(0).produto().nome());
+    }
+
+    @Test
+    @DisplayName("Deve aceitar vírgulas e aspas em campos entre aspas")
+    void deveLerCamposEntreAspas() {
+
+        List<LinhaImportacao> linhas = LeitorCsvProdutos.ler("\"Crédito \"\"Fácil\"\", sem garantia\",12.5,36");
+
+        assertEquals("Crédito \"Fácil\", sem garantia", linhas.get(0).produto().nome());
+        assertEquals(new BigDecimal("12.5"), linhas.get(0).produto().taxaJurosAnual());
+    }
+
+    @Test
+    @DisplayName("Deve manter campos vazios como nulos para a validação do produto")
+    void deveManterCamposVaziosComoNulos() {
+
+        LinhaImportacao linha = LeitorCsvProdutos.ler("Crédito Pessoal,,").get(0);
+
+        assertNull(linha.erro());
+        assertNull(linha.produto().taxaJurosAnual());
+        assertNull(linha.produto().prazoMaximoMeses());
+    }
+
+    @Test
+    @DisplayName("Deve informar erro na linha com número de colunas incorreto ou valores não numéricos")
+    void deveInformarErroNaLinha() {
+
+        List<LinhaImportacao> linhas = LeitorCsvProdutos.ler("Crédito Pessoal,19.9\nCrédito Rural,8,5,60\nCrédito Imobiliário,9.1,doze");
+
+        assertEquals(3, linhas.size());
+        assertEquals("A linha deve ter 3 colunas: nome, taxaJurosAnual e prazoMaximoMeses.", linhas.get(0).erro());
+        assertEquals("A linha deve ter 3 colunas: nome, taxaJurosAnual e prazoMaximoMeses.", linhas.get(1).erro());
+        assertEquals("A taxa de juros e o prazo máximo devem ser numéricos, com ponto como separador decimal.", linhas.get(2).erro());
+        assertNull(linhas.get(2).produto());
+    }
+
+    @Test
+    @DisplayName("Deve devolver uma lista vazia para conteúdo nulo")
+    void deveDevolverListaVaziaParaConteudoNulo() {
+
+        assertTrue(LeitorCsvProdutos.ler(null).isEmpty());
+    }
+}
@@ -0,0 +1,89 @@
+package caixaverso.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeitorValorMonetarioTest {
+
+    @ParameterizedTest(name = "Deve ler {0} como {1} centavos")
+    @CsvSource({
+            "10000, 1000000",
+            "10000.0, 1000000",
+            "10000.5, 1000050",
+            "10000.50, 1000050",
+            "10000.500, 1000050",
+            "0.01, 1",
+            "0.1, 10",
+            "1e4, 1000000",
+            "1.5E+3, 150000",
+            "150000e-2, 150000",
+            "1000000, 100000000",
+            "1000000.00, 100000000",
+            "'  250.75 ', 25075",
+            "+1.00, 100",
+            "0001000.10, 100010"
+    })
+    void deveLerValorEmCentavos(String texto, long centavos) {
+        assertEquals(centavos, LeitorValorMonetario.lerCentavos(texto));
+    }
+
+    @Test
+    @DisplayName("Deve ler somente o trecho informado do buffer")
+    void deveLerTrechoDoBuffer() {
+
+        char[] buffer = "{\"valorSolicitado\":1234.56}".toCharArray();
+
+        assertEquals(123456L, LeitorValorMonetario.lerCentavos(buffer, 19, 7));
+    }
+
+    @ParameterizedTest(name = "Deve rejeitar {0} como acima do limite")
+    @ValueSource(strings = {"1000000.01", "1000001", "1e7", "99999999999999999999999", "1e1000", "10000000000000000000.5"})
+    void deveRejeitarValorAcimaDoLimite(String texto) {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> LeitorValorMonetario.lerCentavos(texto));
+
+        assertEquals(LeitorValorMonetario.MENSAGEM_LIMITE, exception.getMessage());
+    }
+
+    @ParameterizedTest(name = "Deve rejeitar {0} como não positivo")
+    @ValueSource(strings = {"0", "0.00", "-0.01", "-100", "-1e30"})
+    void deveRejeitarValorNaoPositivo(String texto) {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> LeitorValorMonetario.lerCentavos(texto));
+
+        assertEquals(LeitorValorMonetario.MENSAGEM_POSITIVO, exception.getMessage());
+    }
+
+    @ParameterizedTest(name = "Deve rejeitar {0} pelo formato")
+    @ValueSource(strings = {"", " ", "abc", "10,50", "10.001", "1.23456e2", "1e-3", "1e", "1e+", "--1", "1.2.3", ".",
+            "0.000000000000000000001", "12345678901234567890123e-20", "NaN", "Infinity"})
+    void deveRejeitarValorForaDoFormato(String texto) {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> LeitorValorMonetario.lerCentavos(texto));
+
+        assertEquals(LeitorValorMonetario.MENSAGEM_FORMATO, exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar as mesmas regras a números já decodificados")
+    void deveLerBigDecimal() {
+
+        assertEquals(1000050L, LeitorValorMonetario.lerCentavos(new BigDecimal("10000.500")));
+        assertEquals(LeitorValorMonetario.MENSAGEM_LIMITE, assertThrows(IllegalArgumentException.class,
+                () -> LeitorValorMonetario.lerCentavos(new BigDecimal("1000000.01"))).getMessage());
+        assertEquals(LeitorValorMonetario.MENSAGEM_POSITIVO, assertThrows(IllegalArgumentException.class,
+                () -> LeitorValorMonetario.lerCentavos(BigDecimal.ZERO)).getMessage());
+        assertEquals(LeitorValorMonetario.MENSAGEM_FORMATO, assertThrows(IllegalArgumentException.class,
+                () -> LeitorValorMonetario.lerCentavos(new BigDecimal("0.001"))).getMessage());
+    }
+}
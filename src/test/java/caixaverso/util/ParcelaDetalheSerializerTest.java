@@ -0,0 +1,63 @@
+package caixaverso.util;
+
+import caixaverso.dto.SimulacaoResponse;
+import caixaverso.dto.SimulacaoResponse.ParcelaDetalhe;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParcelaDetalheSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Deve formatar os centavos com o mesmo texto do BigDecimal com duas casas")
+    void deveFormatarCentavosComoBigDecimal() {
+
+        char[] buffer = new char[22];
+        for (long centavos : new long[]{0, 5, 10, 99, 100, 123456, -1, -99, -100, -123456,
+                Long.MAX_VALUE, Long.MIN_VALUE}) {
+            int inicio = ParcelaDetalheSerializer.formatar(centavos, buffer);
+
+            assertEquals(BigDecimal.valueOf(centavos, 2).toPlainString(),
+                    new String(buffer, inicio, buffer.length - inicio));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gravar a parcela com os valores como texto de duas casas, na ordem dos campos")
+    void deveGravarParcelaComValoresComoTexto() throws Exception {
+
+        String json = objectMapper.writeValueAsString(new ParcelaDetalhe(1, 9835L, 10491L, 990165L));
+
+        assertEquals("{\"mes\":1,\"amortizacao\":\"98.35\",\"juros\":\"104.91\",\"saldoDevedor\":\"9901.65\"}", json);
+    }
+
+    @Test
+    @DisplayName("Deve ler a memória de cálculo gravada de volta para centavos")
+    void deveLerMemoriaGravada() throws Exception {
+
+        SimulacaoResponse response = new SimulacaoResponse(null, "10000.00", 2, "12.00", "0.009489",
+                "10142.61", "5071.30", List.of(new ParcelaDetalhe(1, 497641L, 9489L, 502359L),
+                new ParcelaDetalhe(2, 502359L, 4767L, 0L)));
+
+        SimulacaoResponse lida = objectMapper.readValue(objectMapper.writeValueAsBytes(response), SimulacaoResponse.class);
+
+        assertEquals(response, lida);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar uma parcela com valor que não é monetário")
+    void deveRejeitarValorNaoMonetario() {
+
+        String json = "{\"mes\":1,\"amortizacao\":\"abc\",\"juros\":\"1.00\",\"saldoDevedor\":\"0.00\"}";
+
+        assertThrows(InvalidFormatException.class, () -> objectMapper.readValue(json, ParcelaDetalhe.class));
+    }
+}
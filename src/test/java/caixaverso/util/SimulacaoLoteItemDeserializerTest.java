@@ -0,0 +1,61 @@
+package caixaverso.util;
+
+import caixaverso.dto.SimulacaoLoteItem;
+import caixaverso.dto.SimulacaoRequest;
+import caixaverso.exception.RegraValidacao;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class SimulacaoLoteItemDeserializerTest {
+
+    private static final TypeReference<List<SimulacaoLoteItem>> LOTE = new TypeReference<>() {
+    };
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Deve ler o lote inteiro quando só um item tem valor solicitado inválido")
+    void deveLerLote_comUmValorInvalido() throws Exception {
+
+        List<SimulacaoLoteItem> itens = objectMapper.readValue("["
+                + "{\"idProduto\":1,\"valorSolicitado\":10000.50,\"prazoMeses\":24},"
+                + "{\"idProduto\":1,\"valorSolicitado\":10.001,\"prazoMeses\":12,\"extra\":{\"a\":[1,{\"b\":2}]}},"
+                + "null,"
+                + "{\"idProduto\":2,\"valorSolicitado\":500,\"prazoMeses\":6}"
+                + "]", LOTE);
+
+        assertEquals(4, itens.size());
+        assertEquals(SimulacaoLoteItem.de(new SimulacaoRequest(1L, 1000050L, 24)), itens.get(0));
+        assertEquals(new SimulacaoLoteItem(null, LeitorValorMonetario.MENSAGEM_FORMATO,
+                RegraValidacao.VALOR_FORMATO_INVALIDO), itens.get(1));
+        assertNull(itens.get(2));
+        assertEquals(SimulacaoLoteItem.de(new SimulacaoRequest(2L, 50000L, 6)), itens.get(3));
+    }
+
+    @Test
+    @DisplayName("Deve continuar rejeitando o corpo quando o item não é um objeto")
+    void deveRejeitarItemQueNaoEhObjeto() {
+
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue("[{\"idProduto\":1},[1]]", LOTE));
+    }
+
+    @Test
+    @DisplayName("Deve escrever o item como a simulação que ele carrega")
+    void deveEscreverItemComoSimulacao() throws Exception {
+
+        String json = objectMapper.writeValueAsString(SimulacaoLoteItem.de(new SimulacaoRequest(1L, 1000050L, 24)));
+
+        assertEquals(objectMapper.writeValueAsString(new SimulacaoRequest(1L, 1000050L, 24)), json);
+    }
+}
@@ -0,0 +1,60 @@
+package caixaverso.util;
+
+import caixaverso.dto.SimulacaoRequest;
+import caixaverso.exception.ValorMonetarioInvalidoException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Usa o ObjectMapper da aplicação, que também recebe os desserializadores gerados na build
+@QuarkusTest
+class SimulacaoRequestDeserializerTest {
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Deve manter os centavos do valor solicitado com o ObjectMapper da aplicação")
+    void deveManterCentavos_comObjectMapperDaAplicacao() throws Exception {
+
+        SimulacaoRequest request = objectMapper.readValue(
+                "{\"prazoMeses\":24,\"valorSolicitado\":10000.50,\"idProduto\":1}", SimulacaoRequest.class);
+
+        assertEquals(new SimulacaoRequest(1L, 1000050L, 24), request);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar campos desconhecidos e deixar nulos os campos ausentes")
+    void deveIgnorarCamposDesconhecidos() throws Exception {
+
+        SimulacaoRequest request = objectMapper.readValue(
+                "{\"idProduto\":1,\"extra\":{\"a\":[1,2]},\"valorSolicitado\":null}", SimulacaoRequest.class);
+
+        assertEquals(new SimulacaoRequest(1L, null, null), request);
+    }
+
+    @Test
+    @DisplayName("Deve informar o campo no caminho da exceção do valor monetário")
+    void deveInformarCampoNoCaminhoDaExcecao() {
+
+        ValorMonetarioInvalidoException exception = assertThrows(ValorMonetarioInvalidoException.class,
+                () -> objectMapper.readValue("{\"idProduto\":1,\"valorSolicitado\":1e7}", SimulacaoRequest.class));
+
+        assertEquals(LeitorValorMonetario.MENSAGEM_LIMITE, exception.getOriginalMessage());
+        assertEquals("valorSolicitado", exception.getPath().get(0).getFieldName());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar um corpo que não é um objeto")
+    void deveRejeitarCorpoQueNaoEhObjeto() {
+
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue("[1]", SimulacaoRequest.class));
+        assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue("{\"prazoMeses\":\"abc\"}", SimulacaoRequest.class));
+    }
+}
@@ -0,0 +1,79 @@
+package caixaverso.util;
+
+import caixaverso.dto.SimulacaoRequest;
+import caixaverso.exception.ValorMonetarioInvalidoException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValorMonetarioDeserializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Deve ler o valor solicitado de números e textos JSON direto para centavos")
+    void deveLerValorSolicitadoEmCentavos() throws Exception {
+
+        assertEquals(new SimulacaoRequest(1L, 1000050L, 24),
+                objectMapper.readValue("{\"idProduto\":1,\"valorSolicitado\":10000.50,\"prazoMeses\":24}", SimulacaoRequest.class));
+        assertEquals(new SimulacaoRequest(1L, 1000000L, 24),
+                objectMapper.readValue("{\"idProduto\":1,\"valorSolicitado\":10000,\"prazoMeses\":24}", SimulacaoRequest.class));
+        assertEquals(new SimulacaoRequest(1L, 123456L, 24),
+                objectMapper.readValue("{\"idProduto\":1,\"valorSolicitado\":\"1234.56\",\"prazoMeses\":24}", SimulacaoRequest.class));
+        assertEquals(new SimulacaoRequest(1L, null, 24),
+                objectMapper.readValue("{\"idProduto\":1,\"valorSolicitado\":null,\"prazoMeses\":24}", SimulacaoRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve interromper a leitura no valor acima do limite, antes dos campos seguintes")
+    void deveInterromperLeitura_quandoValorAcimaDoLimite() {
+
+        // O prazo inválido depois do valor nunca chega a ser lido
+        String json = "[{\"idProduto\":1,\"valorSolicitado\":1000000.01,\"prazoMeses\":\"abc\"}]";
+
+        ValorMonetarioInvalidoException exception = assertThrows(ValorMonetarioInvalidoException.class,
+                () -> objectMapper.readValue(json, objectMapper.getTypeFactory()
+                        .constructCollectionType(List.class, SimulacaoRequest.class)));
+
+        assertEquals(LeitorValorMonetario.MENSAGEM_LIMITE, exception.getOriginalMessage());
+        assertEquals("valorSolicitado", exception.getPath().get(1).getFieldName());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar um valor com mais de duas casas decimais")
+    void deveRejeitarValorComFracaoDeCentavo() {
+
+        ValorMonetarioInvalidoException exception = assertThrows(ValorMonetarioInvalidoException.class,
+                () -> objectMapper.readValue("{\"valorSolicitado\":10000.001}", SimulacaoRequest.class));
+
+        assertEquals(LeitorValorMonetario.MENSAGEM_FORMATO, exception.getOriginalMessage());
+    }
+
+    @Test
+    @DisplayName("Deve tratar um valor que não é número nem texto como erro de tipo do Jackson")
+    void deveRejeitarTokenInesperado() {
+
+        assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue("{\"valorSolicitado\":[1]}", SimulacaoRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve gravar os centavos como número decimal e lê-los de volta em JSON e CBOR")
+    void deveGravarELerEmJsonECbor() throws Exception {
+
+        SimulacaoRequest request = new SimulacaoRequest(1L, 1000050L, 24);
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+        assertEquals("{\"idProduto\":1,\"valorSolicitado\":10000.50,\"prazoMeses\":24}", objectMapper.writeValueAsString(request));
+        assertEquals(request, cborMapper.readValue(cborMapper.writeValueAsBytes(request), SimulacaoRequest.class));
+        assertEquals(request, cborMapper.readValue(cborMapper.writeValueAsBytes(
+                Map.of("idProduto", 1, "valorSolicitado", 10000.5, "prazoMeses", 24)), SimulacaoRequest.class));
+    }
+}
@@ -1,5 +1,6 @@
 package caixaverso.validator;
 
+import caixaverso.dto.FiltroProdutos;
 import caixaverso.dto.ProdutoRequest;
 import jakarta.ws.rs.BadRequestException;
 import org.junit.jupiter.api.BeforeEach;
@@ -67,6 +68,32 @@ class ProdutoValidatorTest {
         assertEquals("A taxa de juros deve ser maior ou igual a zero.", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("Deve lançar exceção quando o nome do produto passa do tamanho da coluna")
+    void deveLancarExcecao_quandoNomeEhLongoDemais() {
+
+        assertDoesNotThrow(() -> validator.validate(new ProdutoRequest("a".repeat(255), BigDecimal.TEN, 12)));
+
+        ProdutoRequest request = new ProdutoRequest("a".repeat(256), BigDecimal.TEN, 12);
+
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> validator.validate(request));
+
+        assertEquals("O nome do produto deve ter no máximo 255 caracteres.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando a taxa de juros tem mais de duas casas decimais")
+    void deveLancarExcecao_quandoTaxaJurosTemMaisDeDuasCasas() {
+
+        assertDoesNotThrow(() -> validator.validate(new ProdutoRequest("Produto Teste", new BigDecimal("12.5000"), 12)));
+
+        ProdutoRequest request = new ProdutoRequest("Produto Teste", new BigDecimal("12.345"), 12);
+
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> validator.validate(request));
+
+        assertEquals("A taxa de juros deve ter no máximo duas casas decimais.", exception.getMessage());
+    }
+
     @ParameterizedTest(name = "Deve lançar exceção para prazo inválido: {0}")
     @ValueSource(ints = {0, -1, -12})
     @DisplayName("Deve lançar exceção quando o prazo máximo não é um número positivo")
@@ -89,4 +116,51 @@ class ProdutoValidatorTest {
 
         assertEquals("O prazo máximo é obrigatório.", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve aceitar um filtro de listagem válido")
+    void deveAceitarFiltroValido() {
+
+        FiltroProdutos filtro = new FiltroProdutos(10L, 50, BigDecimal.ONE, BigDecimal.TEN, 12, "Crédito");
+
+        assertDoesNotThrow(() -> validator.validateFiltro(filtro, 50, 500));
+    }
+
+    @ParameterizedTest(name = "Deve lançar exceção para limite inválido: {0}")
+    @ValueSource(ints = {0, -1, 501})
+    @DisplayName("Deve lançar exceção quando o limite está fora do intervalo permitido")
+    void deveLancarExcecao_quandoLimiteForaDoIntervalo(int limite) {
+
+        FiltroProdutos filtro = new FiltroProdutos(null, limite, null, null, null, null);
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> validator.validateFiltro(filtro, limite, 500));
+
+        assertEquals("O limite deve estar entre 1 e 500 produtos.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando a taxa mínima é maior que a taxa máxima")
+    void deveLancarExcecao_quandoTaxaMinimaMaiorQueMaxima() {
+
+        FiltroProdutos filtro = new FiltroProdutos(null, null, BigDecimal.TEN, BigDecimal.ONE, null, null);
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> validator.validateFiltro(filtro, 100, 500));
+
+        assertEquals("A taxa mínima deve ser menor ou igual à taxa máxima.", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o cursor ou o prazo do filtro são inválidos")
+    void deveLancarExcecao_quandoCursorOuPrazoInvalidos() {
+
+        FiltroProdutos cursorNegativo = new FiltroProdutos(-1L, null, null, null, null, null);
+        FiltroProdutos prazoZero = new FiltroProdutos(null, null, null, null, 0, null);
+
+        assertEquals("O cursor deve ser maior ou igual a zero.", assertThrows(BadRequestException.class,
+                () -> validator.validateFiltro(cursorNegativo, 100, 500)).getMessage());
+        assertEquals("O prazo deve ser maior que zero.", assertThrows(BadRequestException.class,
+                () -> validator.validateFiltro(prazoZero, 100, 500)).getMessage());
+    }
+}
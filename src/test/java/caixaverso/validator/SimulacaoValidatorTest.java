@@ -1,6 +1,7 @@
 package caixaverso.validator;
 
 import caixaverso.dao.ProdutoDao;
+import caixaverso.dto.GradeSimulacaoRequest;
 import caixaverso.dto.SimulacaoRequest;
 import caixaverso.model.ProdutoEmprestimo;
 import io.quarkus.test.InjectMock;
@@ -14,6 +15,8 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -42,7 +45,7 @@ class SimulacaoValidatorTest {
     @DisplayName("Deve validar com sucesso e retornar o produto quando a requisição é válida")
     void deveValidarComSucesso_quandoRequestEhValida() {
 
-        SimulacaoRequest request = new SimulacaoRequest(1L, 10000.0, 12);
+        SimulacaoRequest request = new SimulacaoRequest(1L, 1000000L, 12);
         Mockito.when(produtoDao.listarPorId(1L)).thenReturn(produto);
 
         ProdutoEmprestimo result = assertDoesNotThrow(() -> simulacaoValidator.validateAndGetProduto(request));
@@ -56,7 +59,7 @@ class SimulacaoValidatorTest {
     @DisplayName("Deve lançar IllegalArgumentException quando o produto não é encontrado")
     void deveLancarExcecao_quandoProdutoNaoEncontrado() {
 
-        SimulacaoRequest request = new SimulacaoRequest(99L, 10000.0, 12);
+        SimulacaoRequest request = new SimulacaoRequest(99L, 1000000L, 12);
         Mockito.when(produtoDao.listarPorId(99L)).thenReturn(null);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
@@ -71,7 +74,7 @@ class SimulacaoValidatorTest {
     void deveLancarExcecao_quandoPrazoExcedeMaximo() {
 
         int prazoExcedido = 36;
-        SimulacaoRequest request = new SimulacaoRequest(1L, 10000.0, prazoExcedido);
+        SimulacaoRequest request = new SimulacaoRequest(1L, 1000000L, prazoExcedido);
         Mockito.when(produtoDao.listarPorId(1L)).thenReturn(produto);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
@@ -89,7 +92,7 @@ class SimulacaoValidatorTest {
     @DisplayName("Deve lançar IllegalArgumentException quando o ID do produto é nulo")
     void deveLancarExcecao_quandoIdProdutoEhNulo() {
 
-        SimulacaoRequest request = new SimulacaoRequest(null, 10000.0, 12);
+        SimulacaoRequest request = new SimulacaoRequest(null, 1000000L, 12);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> simulacaoValidator.validateAndGetProduto(request));
@@ -99,9 +102,9 @@ class SimulacaoValidatorTest {
     }
 
     @ParameterizedTest(name = "Deve lançar exceção para valor solicitado inválido: {0}")
-    @ValueSource(doubles = {0.0, -100.0})
+    @ValueSource(longs = {0L, -10000L})
     @DisplayName("Deve lançar IllegalArgumentException quando o valor solicitado não é positivo")
-    void deveLancarExcecao_quandoValorSolicitadoNaoEhPositivo(Double valorInvalido) {
+    void deveLancarExcecao_quandoValorSolicitadoNaoEhPositivo(Long valorInvalido) {
 
         SimulacaoRequest request = new SimulacaoRequest(1L, valorInvalido, 12);
 
@@ -116,7 +119,7 @@ class SimulacaoValidatorTest {
     @DisplayName("Deve lançar IllegalArgumentException quando o valor solicitado excede 1.000.000")
     void deveLancarExcecao_quandoValorSolicitadoExcedeLimite() {
 
-        SimulacaoRequest request = new SimulacaoRequest(1L, 1000000.01, 12);
+        SimulacaoRequest request = new SimulacaoRequest(1L, 100000001L, 12);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> simulacaoValidator.validateAndGetProduto(request));
@@ -130,7 +133,7 @@ class SimulacaoValidatorTest {
     @DisplayName("Deve lançar IllegalArgumentException quando o prazo em meses não é positivo")
     void deveLancarExcecao_quandoPrazoMesesNaoEhPositivo(Integer prazoInvalido) {
 
-        SimulacaoRequest request = new SimulacaoRequest(1L, 10000.0, prazoInvalido);
+        SimulacaoRequest request = new SimulacaoRequest(1L, 1000000L, prazoInvalido);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> simulacaoValidator.validateAndGetProduto(request));
@@ -138,4 +141,102 @@ class SimulacaoValidatorTest {
         assertEquals("O prazo em meses deve ser maior que zero.", exception.getMessage());
         Mockito.verify(produtoDao, Mockito.never()).listarPorId(anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve reaproveitar o produto já carregado ao validar itens de um lote")
+    void deveReaproveitarProdutoCarregado_quandoValidarLote() {
+
+        Map<Long, ProdutoEmprestimo> produtosCarregados = new HashMap<>();
+        Mockito.when(produtoDao.listarPorId(1L)).thenReturn(produto);
+
+        simulacaoValidator.validateAndGetProduto(new SimulacaoRequest(1L, 1000000L, 12), produtosCarregados);
+        ProdutoEmprestimo result = simulacaoValidator.validateAndGetProduto(new SimulacaoRequest(1L, 50000L, 6), produtosCarregados);
+
+        assertEquals(produto, result);
+        Mockito.verify(produtoDao, Mockito.times(1)).listarPorId(1L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, 13})
+    @DisplayName("Deve lançar IllegalArgumentException quando o mês está fora do prazo da simulação")
+    void deveLancarExcecao_quandoMesForaDoPrazo(int mes) {
+
+        SimulacaoRequest request = new SimulacaoRequest(1L, 1000000L, 12);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> simulacaoValidator.validateMes(request, mes));
+
+        assertEquals("O mês deve estar entre 1 e o prazo da simulação (12 meses).", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve validar a comparação sem exigir o ID do produto")
+    void deveValidarComparacaoSemIdProduto() {
+
+        assertDoesNotThrow(() -> simulacaoValidator.validateComparacao(new SimulacaoRequest(null, 1000000L, 12)));
+
+        IllegalArgumentException valor = assertThrows(IllegalArgumentException.class,
+                () -> simulacaoValidator.validateComparacao(new SimulacaoRequest(null, 0L, 12)));
+        IllegalArgumentException nula = assertThrows(IllegalArgumentException.class,
+                () -> simulacaoValidator.validateComparacao(null));
+
+        assertEquals("O valor solicitado deve ser maior que zero.", valor.getMessage());
+        assertEquals("Os dados da simulação são obrigatórios.", nula.getMessage());
+        Mockito.verifyNoInteractions(produtoDao);
+    }
+
+    @Test
+    @DisplayName("Deve validar a grade e retornar o produto quando as faixas são válidas")
+    void deveValidarGrade_quandoFaixasValidas() {
+
+        Mockito.when(produtoDao.listarPorId(1L)).thenReturn(produto);
+
+        ProdutoEmprestimo result = simulacaoValidator.validateGradeAndGetProduto(
+                new GradeSimulacaoRequest(1L, 1000.0, 2000.0, 500.0, 1, produto.getPrazoMaximoMeses(), 1), false, 100, 1000);
+
+        assertEquals(produto.getId(), result.getId());
+    }
+
+    @Test
+    @DisplayName("Deve lançar IllegalArgumentException quando as faixas da grade são inválidas")
+    void deveLancarExcecao_quandoFaixasDaGradeInvalidas() {
+
+        Mockito.when(produtoDao.listarPorId(1L)).thenReturn(produto);
+        int prazoExcedido = produto.getPrazoMaximoMeses() + 1;
+
+        assertEquals("O valor mínimo deve ser menor ou igual ao valor máximo.", mensagemGrade(
+                new GradeSimulacaoRequest(1L, 2000.0, 1000.0, 100.0, 1, 12, 1)));
+        assertEquals("O passo do valor deve ser maior que zero.", mensagemGrade(
+                new GradeSimulacaoRequest(1L, 1000.0, 2000.0, 0.0, 1, 12, 1)));
+        assertEquals("O prazo mínimo deve ser menor ou igual ao prazo máximo.", mensagemGrade(
+                new GradeSimulacaoRequest(1L, 1000.0, 2000.0, 100.0, 12, 1, 1)));
+        assertEquals("O valor máximo deve ser menor ou igual a R$1.000.000,00.", mensagemGrade(
+                new GradeSimulacaoRequest(1L, 1000.0, 2000000.0, 100.0, 1, 12, 1)));
+        assertEquals("A grade deve conter no máximo 100 simulações (valores x prazos).", mensagemGrade(
+                new GradeSimulacaoRequest(1L, 0.01, 1000000.0, 1.0E-300, 1, 12, 1)));
+        assertEquals(String.format("O prazo máximo da grade (%d meses) excede o prazo máximo do produto (%d meses).",
+                prazoExcedido, produto.getPrazoMaximoMeses()), mensagemGrade(
+                new GradeSimulacaoRequest(1L, 1000.0, 2000.0, 1000.0, 1, prazoExcedido, 1)));
+    }
+
+    private String mensagemGrade(GradeSimulacaoRequest request) {
+        return assertThrows(IllegalArgumentException.class,
+                () -> simulacaoValidator.validateGradeAndGetProduto(request, false, 100, 1000)).getMessage();
+    }
+
+    @Test
+    @DisplayName("Deve limitar o total de parcelas da grade só quando a memória de cálculo é gerada")
+    void deveLimitarParcelasDaGrade_apenasSemResumo() {
+
+        Mockito.when(produtoDao.listarPorId(1L)).thenReturn(produto);
+        // 3 valores x (12 + 18 + 24) meses = 162 parcelas
+        GradeSimulacaoRequest request = new GradeSimulacaoRequest(1L, 1000.0, 2000.0, 500.0, 12, 24, 6);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> simulacaoValidator.validateGradeAndGetProduto(request, false, 100, 161));
+
+        assertEquals("Com a memória de cálculo, a grade deve conter no máximo 161 parcelas (valores x soma dos prazos); "
+                + "use resumo=true para grades maiores.", exception.getMessage());
+        assertDoesNotThrow(() -> simulacaoValidator.validateGradeAndGetProduto(request, false, 100, 162));
+        assertDoesNotThrow(() -> simulacaoValidator.validateGradeAndGetProduto(request, true, 100, 161));
+    }
+}